@@ -0,0 +1,165 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the task API, used to compare the platform thread
+ * and virtual thread execution modes (spring.threads.virtual.enabled).
+ *
+ * Each client logs the latency of every request, results are reported as throughput
+ * and latency percentiles. Run with JDK 21+, no build needed:
+ *
+ *   java load-test/TaskLoadTest.java --clients=2000 --duration=60
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public class TaskLoadTest {
+
+  private static final Pattern TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    String baseUrl = options.getOrDefault("url", "http://localhost:8088");
+    String username = options.getOrDefault("username", "loadtest");
+    String password = options.getOrDefault("password", "loadtest123");
+    String path = options.getOrDefault("path", "/api/v1/tasks/page?limit=20");
+    int clients = Integer.parseInt(options.getOrDefault("clients", "500"));
+    int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+    int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+
+    HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(10))
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+    String token = login(http, baseUrl, username, password);
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+      .header("Authorization", "Bearer " + token)
+      .timeout(Duration.ofSeconds(30))
+      .GET()
+      .build();
+
+    System.out.printf("%d clients, %ds warmup, %ds measured, GET %s%n", clients, warmupSeconds, durationSeconds, path);
+    long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+    long stopAt = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+    AtomicLong errors = new AtomicLong();
+
+    List<Future<long[]>> results = new ArrayList<>(clients);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < clients; i++) {
+        results.add(executor.submit(() -> runClient(http, request, measureFrom, stopAt, errors)));
+      }
+    }
+
+    long[] latencies = results.stream().map(TaskLoadTest::join).flatMapToLong(Arrays::stream).sorted().toArray();
+    report(latencies, errors.get(), durationSeconds);
+  }
+
+  /**
+   * sends requests back to back until stopAt, keeping the latencies observed after measureFrom
+   */
+  private static long[] runClient(HttpClient http, HttpRequest request, long measureFrom, long stopAt, AtomicLong errors) {
+    long[] latencies = new long[1024];
+    int count = 0;
+    while (true) {
+      long start = System.nanoTime();
+      if (start >= stopAt) {
+        break;
+      }
+      boolean ok;
+      try {
+        ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+      } catch (Exception e) {
+        ok = false;
+      }
+      long elapsed = System.nanoTime() - start;
+      if (start < measureFrom) {
+        continue;
+      }
+      if (!ok) {
+        errors.incrementAndGet();
+        continue;
+      }
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = elapsed;
+    }
+    return Arrays.copyOf(latencies, count);
+  }
+
+  private static void report(long[] latencies, long errors, int durationSeconds) {
+    if (latencies.length == 0) {
+      System.out.printf("no successful request, errors=%d%n", errors);
+      return;
+    }
+    System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+      latencies.length, errors, latencies.length / (double) durationSeconds);
+    System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+      millis(percentile(latencies, 50)), millis(percentile(latencies, 90)), millis(percentile(latencies, 99)),
+      millis(percentile(latencies, 99.9)), millis(latencies[latencies.length - 1]));
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  /**
+   * registers the load test user (ignored if it already exists) and returns a fresh token
+   */
+  private static String login(HttpClient http, String baseUrl, String username, String password) throws Exception {
+    String credentials = String.format("{\"name\":\"%s\",\"username\":\"%s\",\"password\":\"%s\"}", username, username, password);
+    http.send(post(baseUrl + "/auth/register", credentials), HttpResponse.BodyHandlers.discarding());
+    HttpResponse<String> response = http.send(post(baseUrl + "/auth/login", credentials), HttpResponse.BodyHandlers.ofString());
+    Matcher matcher = TOKEN.matcher(response.body());
+    if (response.statusCode() != 200 || !matcher.find()) {
+      throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+    }
+    return matcher.group(1);
+  }
+
+  private static HttpRequest post(String url, String json) {
+    return HttpRequest.newBuilder(URI.create(url))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(json))
+      .build();
+  }
+
+  private static long[] join(Future<long[]> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (arg.startsWith("--") && arg.contains("=")) {
+        options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+      }
+    }
+    return options;
+  }
+}
@@ -0,0 +1,102 @@
+-- Index size and filter latency of status/priority stored as VARCHAR names (before V13__task_enum_codes.sql)
+-- and as SMALLINT codes (after), on two scratch tables with the same generated rows.
+-- Run against a PostgreSQL database you can create tables in, nothing of the application schema is touched:
+--
+--   psql -d task_db -v rows=1000000 -f load-test/task-enum-codes-benchmark.sql
+--
+-- @author Abdelmajid EL AYACHI
+-- @version 1.0
+-- @since 1.0
+
+\if :{?rows}
+\else
+  \set rows 1000000
+\endif
+\set owners 1000
+
+DROP TABLE IF EXISTS bench_tasks_names, bench_tasks_codes;
+
+CREATE TABLE bench_tasks_names
+(
+  id         BIGINT PRIMARY KEY,
+  owner_id   INTEGER     NOT NULL,
+  status     VARCHAR(50) NOT NULL,
+  priority   VARCHAR(50) NOT NULL,
+  created_at TIMESTAMP   NOT NULL
+);
+
+CREATE TABLE bench_tasks_codes
+(
+  id         BIGINT PRIMARY KEY,
+  owner_id   INTEGER   NOT NULL,
+  status     SMALLINT  NOT NULL,
+  priority   SMALLINT  NOT NULL,
+  created_at TIMESTAMP NOT NULL
+);
+
+-- most tasks completed, a pending queue per owner, priorities spread evenly
+INSERT INTO bench_tasks_codes
+SELECT i, i % :owners, CASE WHEN i % 10 < 7 THEN 2 WHEN i % 10 < 9 THEN 0 ELSE 1 END, i % 3,
+       localtimestamp - make_interval(secs => i)
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO bench_tasks_names
+SELECT id, owner_id, (ARRAY ['PENDING', 'IN_PROGRESS', 'COMPLETED'])[status + 1], (ARRAY ['LOW', 'MEDIUM', 'HIGH'])[priority + 1], created_at
+FROM bench_tasks_codes;
+
+-- the indexes of the application, the names need the CASE expression to sort the queue by urgency
+CREATE INDEX bench_names_owner_status_id ON bench_tasks_names (owner_id, status, id DESC);
+CREATE INDEX bench_names_owner_priority_id ON bench_tasks_names (owner_id, priority, id DESC);
+CREATE INDEX bench_names_pending_claim ON bench_tasks_names
+  (owner_id, (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), created_at, id) WHERE status = 'PENDING';
+
+CREATE INDEX bench_codes_owner_status_id ON bench_tasks_codes (owner_id, status, id DESC);
+CREATE INDEX bench_codes_owner_priority_id ON bench_tasks_codes (owner_id, priority, id DESC);
+CREATE INDEX bench_codes_pending_claim ON bench_tasks_codes (owner_id, priority DESC, created_at, id) WHERE status = 0;
+
+VACUUM ANALYZE bench_tasks_names;
+VACUUM ANALYZE bench_tasks_codes;
+
+\echo
+\echo '== sizes'
+SELECT relname                                 AS relation,
+       pg_size_pretty(pg_relation_size(oid))   AS size,
+       pg_relation_size(oid)                   AS bytes
+FROM pg_class
+WHERE relname LIKE 'bench\_tasks\_%' OR relname LIKE 'bench\_names\_%' OR relname LIKE 'bench\_codes\_%'
+ORDER BY relname;
+
+-- warm the cache so both sides are measured from memory
+SELECT count(*) FROM bench_tasks_names WHERE status = 'PENDING';
+SELECT count(*) FROM bench_tasks_codes WHERE status = 0;
+
+\echo
+\echo '== page of one owner filtered by status (GET /api/v1/tasks/page?status=PENDING)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_tasks_names WHERE owner_id = 42 AND status = 'PENDING' ORDER BY id DESC LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_tasks_codes WHERE owner_id = 42 AND status = 0 ORDER BY id DESC LIMIT 20;
+
+\echo
+\echo '== page of one owner filtered by priority (GET /api/v1/tasks/page?priority=HIGH)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_tasks_names WHERE owner_id = 42 AND priority = 'HIGH' ORDER BY id DESC LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_tasks_codes WHERE owner_id = 42 AND priority = 2 ORDER BY id DESC LIMIT 20;
+
+\echo
+\echo '== most urgent pending tasks of one owner (POST /api/v1/tasks/claim?limit=10)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM bench_tasks_names WHERE owner_id = 42 AND status = 'PENDING'
+ORDER BY CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END, created_at, id LIMIT 10;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM bench_tasks_codes WHERE owner_id = 42 AND status = 0 ORDER BY priority DESC, created_at, id LIMIT 10;
+
+\echo
+\echo '== all pending tasks of every owner by urgency, ORDER BY priority on the names sorts HIGH < LOW < MEDIUM'
+\timing on
+SELECT priority, count(*) FROM bench_tasks_names WHERE status = 'PENDING' GROUP BY priority ORDER BY priority;
+SELECT priority, count(*) FROM bench_tasks_codes WHERE status = 0 GROUP BY priority ORDER BY priority DESC;
+\timing off
+
+DROP TABLE bench_tasks_names, bench_tasks_codes;
@@ -0,0 +1,68 @@
+package dev.elayachi.taskmanager.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.service.impl.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of TaskResponse, @JsonFormat dates included, with the ObjectMapper defaults Spring Boot uses.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseSerializationBenchmark {
+
+  private ObjectWriter writer;
+  private TaskResponse task;
+  // a full page of GET /api/v1/tasks/page
+  private List<TaskResponse> page;
+
+  @Setup
+  public void setUp() {
+    writer = Jackson2ObjectMapperBuilder.json().build().writer();
+    LocalDateTime now = LocalDateTime.now();
+    page = new ArrayList<>(TaskServiceImpl.MAX_PAGE_SIZE);
+    for (int i = 0; i < TaskServiceImpl.MAX_PAGE_SIZE; i++) {
+      Task.TaskStatus status = Task.TaskStatus.values()[i % Task.TaskStatus.values().length];
+      Task.TaskPriority priority = Task.TaskPriority.values()[i % Task.TaskPriority.values().length];
+      page.add(new TaskResponse((long) i, "Task " + i, "Description of task " + i,
+        status, status.getDisplayName(), priority, priority.getDisplayName(), now.minusMinutes(i), now, 0L));
+    }
+    task = page.get(0);
+  }
+
+  @Benchmark
+  public byte[] serializeTask() throws JsonProcessingException {
+    return writer.writeValueAsBytes(task);
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws JsonProcessingException {
+    return writer.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,87 @@
+package dev.elayachi.taskmanager.domain;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.elayachi.taskmanager.configuration.CompactWireFormat;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of a 10k task list in the default JSON and the compact representations,
+ * with and without the gzip compression applied by the server. The bytes on the wire of each
+ * combination are printed once per fork.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseWireFormatBenchmark {
+
+  private static final int TASKS = 10_000;
+
+  @Param({"JSON", "COMPACT_JSON", "SMILE"})
+  private String format;
+
+  @Param({"false", "true"})
+  private boolean gzip;
+
+  private ObjectWriter writer;
+  private List<TaskResponse> tasks;
+
+  @Setup
+  public void setUp() throws IOException {
+    writer = switch (format) {
+      case "JSON" -> Jackson2ObjectMapperBuilder.json().build().writer();
+      case "COMPACT_JSON" -> CompactWireFormat.jsonMapper(Jackson2ObjectMapperBuilder.json()).writer();
+      case "SMILE" -> CompactWireFormat.smileMapper(Jackson2ObjectMapperBuilder.json()).writer();
+      default -> throw new IllegalArgumentException("Unknown format " + format);
+    };
+    LocalDateTime now = LocalDateTime.now();
+    tasks = new ArrayList<>(TASKS);
+    for (int i = 0; i < TASKS; i++) {
+      Task.TaskStatus status = Task.TaskStatus.values()[i % Task.TaskStatus.values().length];
+      Task.TaskPriority priority = Task.TaskPriority.values()[i % Task.TaskPriority.values().length];
+      tasks.add(new TaskResponse((long) i, "Task " + i, i % 3 == 0 ? null : "Description of task " + i,
+        status, status.getDisplayName(), priority, priority.getDisplayName(), now.minusMinutes(i), now, (long) i % 5));
+    }
+    System.out.printf("%n%s gzip=%s: %d bytes for %d tasks%n", format, gzip, serializeTasks().length, TASKS);
+  }
+
+  @Benchmark
+  public byte[] serializeTasks() throws IOException {
+    byte[] body = writer.writeValueAsBytes(tasks);
+    if (!gzip) {
+      return body;
+    }
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(body);
+    }
+    return compressed.toByteArray();
+  }
+}
@@ -0,0 +1,62 @@
+package dev.elayachi.taskmanager.domain;
+
+import dev.elayachi.taskmanager.domain.converter.AuthoritiesConverter;
+import dev.elayachi.taskmanager.domain.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of User.getAuthorities() and of resolving the authorities column when a user is loaded.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAuthoritiesBenchmark {
+
+  private static final String AUTHORITIES = "ROLE_USER" + AuthoritiesConverter.AUTHORITIES_DELIMITER + "ROLE_ADMIN";
+
+  private final AuthoritiesConverter converter = new AuthoritiesConverter();
+  private User user;
+
+  @Setup
+  public void setUp() {
+    user = User.builder()
+      .id(1)
+      .name("Benchmark")
+      .username("benchmark")
+      .password("")
+      .authorities(converter.convertToEntityAttribute(AUTHORITIES))
+      .enabled(true)
+      .build();
+  }
+
+  @Benchmark
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return user.getAuthorities();
+  }
+
+  @Benchmark
+  public Set<GrantedAuthority> convertToEntityAttribute() {
+    return converter.convertToEntityAttribute(AUTHORITIES);
+  }
+}
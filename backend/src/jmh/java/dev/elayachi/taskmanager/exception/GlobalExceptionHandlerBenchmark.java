@@ -0,0 +1,67 @@
+package dev.elayachi.taskmanager.exception;
+
+import dev.elayachi.taskmanager.controller.TaskController;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response construction cost of GlobalExceptionHandler.
+ * Its logger is turned off in src/jmh/resources/logback-test.xml, so console output is not measured.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+  private GlobalExceptionHandler handler;
+  private MockHttpServletRequest request;
+  private ResourceNotFoundException notFound;
+  private MethodArgumentNotValidException invalidArgument;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    handler = new GlobalExceptionHandler();
+    request = new MockHttpServletRequest("GET", "/api/v1/tasks/42");
+    notFound = new ResourceNotFoundException("Task not found with id: 42");
+
+    BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new TaskRequest(), "taskRequest");
+    bindingResult.rejectValue("title", "NotBlank", "Title is required and cannot be empty");
+    bindingResult.rejectValue("status", "NotNull", "Status is required");
+    MethodParameter parameter = new MethodParameter(TaskController.class.getMethod("createTask", TaskRequest.class), 0);
+    invalidArgument = new MethodArgumentNotValidException(parameter, bindingResult);
+  }
+
+  @Benchmark
+  public ResponseEntity<ErrorResponse> resourceNotFound() {
+    return handler.handleResourceNotFoundException(notFound, request);
+  }
+
+  @Benchmark
+  public ResponseEntity<ErrorResponse> methodArgumentNotValid() {
+    return handler.handleMethodArgumentNotValidException(invalidArgument, request);
+  }
+}
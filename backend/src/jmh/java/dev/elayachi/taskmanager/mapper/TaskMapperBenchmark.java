@@ -0,0 +1,77 @@
+package dev.elayachi.taskmanager.mapper;
+
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost of TaskMapper, from a single task up to a full-table getAllTasks() list.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 1M tasks and their responses do not fit in the default heap of small machines
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskMapperBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  private int size;
+
+  private TaskMapper taskMapper;
+  private List<Task> tasks;
+  private Task task;
+
+  @Setup
+  public void setUp() {
+    taskMapper = Mappers.getMapper(TaskMapper.class);
+    Task.TaskStatus[] statuses = Task.TaskStatus.values();
+    Task.TaskPriority[] priorities = Task.TaskPriority.values();
+    LocalDateTime now = LocalDateTime.now();
+    tasks = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Task t = new Task();
+      t.setId((long) size - i);
+      t.setTitle("Task " + i);
+      t.setDescription("Description of task " + i);
+      t.setStatus(statuses[i % statuses.length]);
+      t.setPriority(priorities[i % priorities.length]);
+      t.setCreatedAt(now.minusMinutes(i));
+      t.setUpdatedAt(now);
+      tasks.add(t);
+    }
+    task = tasks.get(0);
+  }
+
+  @Benchmark
+  public List<TaskResponse> toTasksResponse() {
+    return taskMapper.toTasksResponse(tasks);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public TaskResponse toResponse() {
+    return taskMapper.toResponse(task);
+  }
+}
@@ -0,0 +1,75 @@
+package dev.elayachi.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification cost of JwtService.
+ * With cached=false the verified token cache holds nothing, so every call verifies the signature.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+  // same secret as application.yaml
+  private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+  @Param({"true", "false"})
+  private boolean cached;
+
+  private JwtService jwtService;
+  private UserDetails userDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService();
+    jwtService.SECRET = SECRET;
+    ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cached ? 10_000L : 0L);
+    ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+    jwtService.init();
+    userDetails = User.withUsername("benchmark")
+      .password("")
+      .authorities("ROLE_USER")
+      .build();
+    token = jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public String extractUsername() {
+    return jwtService.extractUsername(token);
+  }
+
+  @Benchmark
+  public Boolean validateToken() {
+    return jwtService.validateToken(token, userDetails);
+  }
+}
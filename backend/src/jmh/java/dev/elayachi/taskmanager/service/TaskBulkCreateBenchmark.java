@@ -0,0 +1,117 @@
+package dev.elayachi.taskmanager.service;
+
+import dev.elayachi.taskmanager.TaskManagerApplication;
+import dev.elayachi.taskmanager.domain.converter.AuthoritiesConverter;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.entity.User;
+import dev.elayachi.taskmanager.domain.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second inserted into PostgreSQL by POST /api/v1/tasks (one transaction per task, the path
+ * integrations used before the bulk endpoint) and by POST /api/v1/tasks/bulk (one transaction,
+ * pooled sequence ids, JDBC batches), with JDBC batching off (1) and as configured (50).
+ * Needs a Docker daemon: the application runs against a PostgreSQL container migrated by Flyway.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskBulkCreateBenchmark {
+
+  // tasks per invocation, the score is rows per second
+  private static final int ROWS = 1000;
+
+  @Param({"1", "50"})
+  private int jdbcBatchSize;
+
+  private PostgreSQLContainer<?> postgres;
+  private ConfigurableApplicationContext context;
+  private TaskService taskService;
+  private List<TaskRequest> requests;
+
+  @Setup
+  public void setUp() {
+    postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    postgres.start();
+    context = new SpringApplication(TaskManagerApplication.class).run(
+      "--spring.datasource.url=" + postgres.getJdbcUrl(),
+      "--spring.datasource.username=" + postgres.getUsername(),
+      "--spring.datasource.password=" + postgres.getPassword(),
+      "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+      "--spring.jpa.show-sql=false",
+      "--server.port=0");
+    taskService = context.getBean(TaskService.class);
+
+    User owner = context.getBean(UserRepository.class).save(User.builder()
+      .username("benchmark-" + UUID.randomUUID())
+      .password("not-used")
+      .name("benchmark")
+      .enabled(true)
+      .authorities(AuthoritiesConverter.parse("student"))
+      .build());
+    // the benchmark thread is not the setup thread, a global context is seen by both
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext().setAuthentication(
+      new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+
+    Task.TaskStatus[] statuses = Task.TaskStatus.values();
+    Task.TaskPriority[] priorities = Task.TaskPriority.values();
+    requests = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      requests.add(new TaskRequest("Task " + i, "Description of task " + i,
+        statuses[i % statuses.length], priorities[i % priorities.length]));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+    postgres.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void createOneByOne(Blackhole blackhole) {
+    for (TaskRequest request : requests) {
+      blackhole.consume(taskService.createTask(request));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public BulkResponse createBulk() {
+    return taskService.createTasks(requests);
+  }
+}
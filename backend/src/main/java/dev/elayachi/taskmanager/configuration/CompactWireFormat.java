@@ -0,0 +1,130 @@
+package dev.elayachi.taskmanager.configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact representation of the task API, sent only to clients asking for it in their Accept header.
+ *
+ * Compared to the default JSON, tasks lose the display names (derivable from the enums),
+ * timestamps are epoch milliseconds and null fields are omitted.
+ * It is available as JSON ({@link #COMPACT_JSON}) and as Smile binary JSON ({@link #SMILE}).
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CompactWireFormat {
+
+  public static final MediaType COMPACT_JSON = MediaType.parseMediaType("application/vnd.taskmanager.compact+json");
+  public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+  private CompactWireFormat() {
+  }
+
+  /**
+   * @param builder builder holding the application Jackson settings, it is modified
+   * @return ObjectMapper writing the compact JSON representation
+   */
+  public static ObjectMapper jsonMapper(Jackson2ObjectMapperBuilder builder) {
+    return compact(builder).build();
+  }
+
+  /**
+   * @param builder builder holding the application Jackson settings, it is modified
+   * @return ObjectMapper writing the compact representation as Smile
+   */
+  public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+    return compact(builder).factory(new SmileFactory()).build();
+  }
+
+  /**
+   * name of the representation answered to an Accept header, the converters of WebConfig are chosen the same way:
+   * a compact type is used when it is named explicitly, preferred by quality then by order to the other types
+   * @param accept Accept header, null when absent
+   * @return "smile", "compact" or "json"
+   */
+  public static String representation(String accept) {
+    if (accept == null) {
+      return "json";
+    }
+    List<MediaType> mediaTypes;
+    try {
+      mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException e) {
+      return "json";
+    }
+    MimeTypeUtils.sortBySpecificity(mediaTypes);
+    for (MediaType mediaType : mediaTypes) {
+      if (mediaType.getQualityValue() == 0) {
+        continue;
+      }
+      if (SMILE.equalsTypeAndSubtype(mediaType)) {
+        return "smile";
+      }
+      if (COMPACT_JSON.equalsTypeAndSubtype(mediaType)) {
+        return "compact";
+      }
+      if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+        return "json";
+      }
+    }
+    return "json";
+  }
+
+  private static Jackson2ObjectMapperBuilder compact(Jackson2ObjectMapperBuilder builder) {
+    return builder
+      .serializationInclusion(JsonInclude.Include.NON_NULL)
+      .mixIn(TaskResponse.class, CompactTaskResponse.class);
+  }
+
+  /**
+   * overrides the TaskResponse fields annotations in the compact representation
+   */
+  private abstract static class CompactTaskResponse {
+
+    @JsonIgnore
+    private String statusDisplayName;
+
+    @JsonIgnore
+    private String priorityDisplayName;
+
+    @JsonSerialize(using = EpochMillisSerializer.class)
+    private LocalDateTime createdAt;
+
+    @JsonSerialize(using = EpochMillisSerializer.class)
+    private LocalDateTime updatedAt;
+  }
+
+  /**
+   * task timestamps are local to the server time zone, they are converted with it
+   */
+  static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+
+    public EpochMillisSerializer() {
+      super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+      generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+  }
+}
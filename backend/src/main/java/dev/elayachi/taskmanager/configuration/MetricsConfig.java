@@ -0,0 +1,52 @@
+package dev.elayachi.taskmanager.configuration;
+
+import dev.elayachi.taskmanager.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration: latency percentiles for the task API and SQL statement counting.
+ * Hikari pool gauges, Hibernate statistics and the Prometheus endpoint are provided by Spring Boot Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+  private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+  private static final String TASKS_URI_PREFIX = "/api/v1/tasks";
+
+  /**
+   * Publishes client side percentiles for the /api/v1/tasks routes only, other routes keep the default timer.
+   * Histogram buckets are not used here: Prometheus rejects a metric mixing histogram and summary series.
+   * @return the MeterFilter
+   */
+  @Bean
+  public MeterFilter taskRoutesPercentiles() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        String uri = id.getTag("uri");
+        if (HTTP_SERVER_REQUESTS.equals(id.getName()) && uri != null && uri.startsWith(TASKS_URI_PREFIX)) {
+          return DistributionStatisticConfig.builder()
+            .percentiles(0.5, 0.95, 0.99)
+            .build()
+            .merge(config);
+        }
+        return config;
+      }
+    };
+  }
+
+  /**
+   * Registers the statement inspector counting SQL statements per request.
+   * @return the HibernatePropertiesCustomizer
+   */
+  @Bean
+  public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+  }
+}
@@ -0,0 +1,30 @@
+package dev.elayachi.taskmanager.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder shared by registration and login. Kept out of SecurityConfig,
+ * which depends on UserService, so UserService can inject it without a circular reference.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+  /**
+   * BCrypt encoder, each step of the strength doubles the hashing time. Existing hashes keep
+   * the strength they were created with, so it can be changed without rehashing.
+   * @param strength BCrypt log rounds, auth.password.bcrypt-strength
+   * @return the BCryptPasswordEncoder instance
+   */
+  @Bean
+  public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
+  }
+}
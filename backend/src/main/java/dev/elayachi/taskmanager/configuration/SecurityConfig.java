@@ -2,6 +2,7 @@ package dev.elayachi.taskmanager.configuration;
 
 import dev.elayachi.taskmanager.security.JwtAuthFilter;
 import dev.elayachi.taskmanager.security.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,6 +36,9 @@ public class SecurityConfig {
   @Autowired
   private JwtAuthFilter jwtAuthFilter; // Custom JWT authentication filter
 
+  @Autowired
+  private PasswordEncoder passwordEncoder; // BCrypt encoder, see PasswordEncoderConfig
+
   /**
    * Configures the AuthenticationProvider to use the custom UserService and PasswordEncoder.
    * @return the configured DaoAuthenticationProvider
@@ -44,7 +47,7 @@ public class SecurityConfig {
   public AuthenticationProvider authenticationProvider() {
     DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
     provider.setUserDetailsService(userService); // Set our custom UserDetailsService
-    provider.setPasswordEncoder(passwordEncoder()); // Set the password encoder
+    provider.setPasswordEncoder(passwordEncoder); // Set the password encoder
     return provider;
   }
 
@@ -67,6 +70,9 @@ public class SecurityConfig {
       .authorizeHttpRequests(authorizeRequest -> authorizeRequest
         // Public endpoints that do not require authentication
         .requestMatchers("/auth/**").permitAll()
+        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+        // Async dispatches (streamed responses) were already authorized on the original request
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
         // All other requests must be authenticated
         .anyRequest().authenticated()
       )
@@ -95,7 +101,8 @@ public class SecurityConfig {
     // If you need to allow all origins for testing (less secure for production):
     // configuration.setAllowedOrigins(Arrays.asList("*"));
     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-    configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
+    configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Prefer", "If-None-Match", "If-Match", "Idempotency-Key"));
+    configuration.setExposedHeaders(List.of("ETag", "Idempotent-Replayed", "Retry-After")); // Let the frontend read ETags for conditional requests
     configuration.setAllowCredentials(true); // Allow sending cookies/auth headers
     configuration.setMaxAge(3600L); // How long the CORS pre-flight request can be cached
 
@@ -104,15 +111,6 @@ public class SecurityConfig {
     return source;
   }
 
-  /**
-   * Provides a BCryptPasswordEncoder bean for password hashing.
-   * @return the BCryptPasswordEncoder instance
-   */
-  @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
-  }
-
   /**
    * Exposes the AuthenticationManager bean, which is used to perform authentication.
    * @param config AuthenticationConfiguration for building the manager
@@ -0,0 +1,83 @@
+package dev.elayachi.taskmanager.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Spring MVC configuration: registers the compact task representation (see {@link CompactWireFormat}).
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+  public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+    this.objectMapperBuilder = objectMapperBuilder;
+  }
+
+  /**
+   * Adds the compact converters in front so they win over the default JSON converter, which also accepts
+   * application/*+json. They only answer an explicit Accept, wildcards keep the default JSON.
+   * @param converters converters configured by Spring Boot
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    // the builder is a prototype bean, each call returns a fresh copy of the Spring Boot settings
+    converters.add(0, new ExplicitJacksonConverter(
+      CompactWireFormat.smileMapper(objectMapperBuilder.getObject()), CompactWireFormat.SMILE));
+    converters.add(0, new ExplicitJacksonConverter(
+      CompactWireFormat.jsonMapper(objectMapperBuilder.getObject()), CompactWireFormat.COMPACT_JSON));
+  }
+
+  /**
+   * write only Jackson converter, used when the client asked for its media type by name
+   */
+  private static final class ExplicitJacksonConverter extends AbstractJackson2HttpMessageConverter {
+
+    private ExplicitJacksonConverter(ObjectMapper objectMapper, MediaType mediaType) {
+      super(objectMapper, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+      return isExplicit(mediaType) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+      return isExplicit(mediaType) && super.canWrite(type, clazz, mediaType);
+    }
+
+    /**
+     * the media type is null while Spring MVC lists the producible types, staying out of that list
+     * keeps clients with a wildcard Accept on the default JSON. The explicit types are still listed
+     * by the default converters (application/*+json and Smile), so they are not answered with 406.
+     */
+    private static boolean isExplicit(MediaType mediaType) {
+      return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+    }
+  }
+}
@@ -4,18 +4,24 @@ import dev.elayachi.taskmanager.domain.dto.request.AuthRequest;
 import dev.elayachi.taskmanager.domain.dto.request.RegisterRequest;
 import dev.elayachi.taskmanager.domain.dto.response.AuthResponse;
 import dev.elayachi.taskmanager.domain.dto.response.SuccessResponse;
+import dev.elayachi.taskmanager.exception.TooManyRequestsException;
+import dev.elayachi.taskmanager.security.AuthRateLimiter;
 import dev.elayachi.taskmanager.security.JwtService;
+import dev.elayachi.taskmanager.security.PasswordHashingExecutor;
 import dev.elayachi.taskmanager.security.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -31,42 +37,62 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private AuthRateLimiter authRateLimiter; // Per-IP and per-username token buckets
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor; // Bounded pool for the BCrypt work
+
     /**
      * Endpoint for user registration.
+     * The password is hashed on the {@link PasswordHashingExecutor}, the request thread is released meanwhile.
      * @param registerRequest Contains username and password for registration
+     * @param request The HTTP request, its remote address is rate limited
      * @return A success message upon successful registration
+     * @throws TooManyRequestsException if the client or username is rate limited, or the hashing queue is full
      */
     @PostMapping("/register")
-    public ResponseEntity<SuccessResponse> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-       userService.create(registerRequest);
-      SuccessResponse response = new SuccessResponse();
-      response.setMessage("User registered successfully!");
-      response.setTimestamp(LocalDateTime.now());
-      response.setStatus(true);
-      return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<SuccessResponse>> registerUser(@Valid @RequestBody RegisterRequest registerRequest,
+                                                                          HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), registerRequest.getUsername());
+        return passwordHashingExecutor.submit(() -> {
+            userService.create(registerRequest);
+            SuccessResponse response = new SuccessResponse();
+            response.setMessage("User registered successfully!");
+            response.setTimestamp(LocalDateTime.now());
+            response.setStatus(true);
+            return ResponseEntity.ok(response);
+        });
     }
 
     /**
      * Endpoint for generating JWT token after successful authentication.
+     * The password is verified on the {@link PasswordHashingExecutor}, the request thread is released meanwhile.
      * @param authRequest Contains username and password for authentication
+     * @param request The HTTP request, its remote address is rate limited
      * @return The generated JWT token
      * @throws UsernameNotFoundException if authentication fails
+     * @throws TooManyRequestsException if the client or username is rate limited, or the hashing queue is full
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> authenticateAndGetToken(@Valid @RequestBody AuthRequest authRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
-        );
+    public CompletableFuture<ResponseEntity<AuthResponse>> authenticateAndGetToken(@Valid @RequestBody AuthRequest authRequest,
+                                                                                  HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), authRequest.getUsername());
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
+            );
 
-        // If authentication is successful, generate and return the JWT token
-        if (authentication.isAuthenticated()) {
-            AuthResponse authResponse  = AuthResponse.builder()
-                                        .accessToken(jwtService.generateToken(authRequest.getUsername()))
-                                        .build();
-            return ResponseEntity.ok(authResponse);
-        } else {
-            // If authentication fails, throw an exception
-            throw new UsernameNotFoundException("Invalid user credentials!");
-        }
+            // If authentication is successful, generate and return the JWT token
+            if (authentication.isAuthenticated()) {
+                AuthResponse authResponse  = AuthResponse.builder()
+                                            .accessToken(jwtService.generateToken((UserDetails) authentication.getPrincipal()))
+                                            .build();
+                return ResponseEntity.ok(authResponse);
+            } else {
+                // If authentication fails, throw an exception
+                throw new UsernameNotFoundException("Invalid user credentials!");
+            }
+        });
     }
 }
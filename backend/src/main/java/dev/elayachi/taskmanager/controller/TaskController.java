@@ -1,29 +1,68 @@
 package dev.elayachi.taskmanager.controller;
 
+import dev.elayachi.taskmanager.configuration.CompactWireFormat;
+import dev.elayachi.taskmanager.domain.dto.request.TaskBulkUpdateRequest;
 import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskBoardResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskDeltaResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsPageResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskPageResponse;
 import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskSearchResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskStatsResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.exception.ConflictException;
 import dev.elayachi.taskmanager.exception.ResourceNotFoundException;
+import dev.elayachi.taskmanager.exception.ServiceUnavailableException;
 import dev.elayachi.taskmanager.exception.ValidationException;
+import dev.elayachi.taskmanager.feed.TaskChangeFeed;
+import dev.elayachi.taskmanager.idempotency.IdempotencyService;
+import dev.elayachi.taskmanager.security.CurrentUser;
+import dev.elayachi.taskmanager.service.TaskExportFormat;
+import dev.elayachi.taskmanager.service.TaskField;
 import dev.elayachi.taskmanager.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for managing Task operations.
  *
  * This controller provides endpoints for CRUD operations on tasks including:
  * - Creating new tasks
- * - Retrieving all tasks
+ * - Retrieving all tasks (conditional GET with ETag)
+ * - Retrieving tasks changed since the previous sync (delta)
+ * - Retrieving tasks page by page (keyset cursor)
+ * - Searching tasks by words in title and description
+ * - Task statistics for dashboards
+ * - Streaming task changes (Server-Sent Events)
+ * - Exporting all tasks as a stream (NDJSON or CSV)
  * - retrieving task by id
- * - update task
- * - update task status
+ * - update task (optionally conditional with If-Match)
+ * - update task status (optionally conditional with If-Match)
  * - delete task by id
+ * - bulk create, update and delete
+ * - claiming pending tasks as a work queue, with lease heartbeats
+ * Creations and bulk operations accept an Idempotency-Key header, retries with the same key get the first response.
  * Base URL: /api/v1/tasks
+ * Clients may ask for the compact representation (no display names, epoch millis timestamps)
+ * with Accept: application/vnd.taskmanager.compact+json or application/x-jackson-smile.
  *
  * @author Abdelmajid El Ayachi
  * @version 1.0
@@ -34,11 +73,19 @@ import java.util.List;
 @RequestMapping("/api/v1/tasks")
 public class TaskController {
 
+  private static final String PREFER_RETURN_MINIMAL = "return=minimal";
+  // responses carrying an ETag may be kept by the client, but only reused after a conditional GET
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
   private final TaskService taskService;
+  private final TaskChangeFeed taskChangeFeed;
+  private final IdempotencyService idempotencyService;
 
   @Autowired
-  public TaskController(TaskService taskService) {
+  public TaskController(TaskService taskService, TaskChangeFeed taskChangeFeed, IdempotencyService idempotencyService) {
     this.taskService = taskService;
+    this.taskChangeFeed = taskChangeFeed;
+    this.idempotencyService = idempotencyService;
   }
 
 /**
@@ -49,63 +96,270 @@ public class TaskController {
  * using Bean Validation annotations.
  *
  * @param taskRequest the task data to create (validated)
+ * @param idempotencyKey optional Idempotency-Key header, a retry with the same key does not create the task again
  * @return ResponseEntity containing the created TaskResponse with HTTP 201 Created
  *
  * @throws ValidationException if the request data is invalid
  */
  @PostMapping
-  public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest) {
-   TaskResponse createdTask = taskService.createTask(taskRequest);
-   return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+  public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest,
+                                                 @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+   return idempotencyService.execute(idempotencyKey, "POST /api/v1/tasks", taskRequest, TaskResponse.class,
+     () -> ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(taskRequest)));
   }
 
   /**
-   * Retrieving all tasks ordered by the last created task
-   * @return ResponseEntity containing list of TaskResponse with status 200 OK
+   * Retrieving all tasks ordered by the last created task.
+   * The ETag is the version of the task list kept by the database and the representation,
+   * so an unchanged list is answered with 304 Not Modified without reading the tasks.
+   * @param webRequest current request, holding If-None-Match
+   * @return ResponseEntity containing list of TaskResponse with status 200 OK, or 304 Not Modified
    */
   @GetMapping()
-  public ResponseEntity<List<TaskResponse>> getTasks() {
-    return  ResponseEntity.ok(taskService.getAllTasks());
+  public ResponseEntity<List<TaskResponse>> getTasks(WebRequest webRequest) {
+    String eTag = listETag(taskService.getTasksVersion(), webRequest);
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(taskService.getAllTasks());
+  }
+
+  /**
+   * Retrieving all tasks with only the selected fields, e.g. ?fields=title,status for a list view.
+   * Unselected columns are not read from the database, the id is always returned.
+   * The ETag is the version of the task list, of the selected fields and of the representation.
+   * @param fields comma separated field names (id, title, description, status, priority, createdAt, updatedAt, version)
+   * @param webRequest current request, holding If-None-Match
+   * @return ResponseEntity containing list of TaskFieldsResponse with status 200 OK, or 304 Not Modified
+   * @throws ValidationException if a field is unknown
+   */
+  @GetMapping(params = {"fields", "!since"})
+  public ResponseEntity<List<TaskFieldsResponse>> getTasks(@RequestParam("fields") List<String> fields, WebRequest webRequest) {
+    Set<TaskField> selected = TaskField.parse(fields);
+    String eTag = listETag(taskService.getTasksVersion() + "-" + selected.stream()
+      .map(TaskField::getAttribute)
+      .collect(Collectors.joining(",")), webRequest);
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(taskService.getAllTasks(selected));
+  }
+
+  /**
+   * Retrieving the tasks created, updated and deleted since the previous sync instead of the whole list.
+   * Tasks may be reported again on the next sync, apply them by id.
+   * @param since nextSince of the previous sync (ISO date time)
+   * @return ResponseEntity containing TaskDeltaResponse with status 200 OK, resync is set when all tasks must be reloaded
+   */
+  @GetMapping(params = "since")
+  public ResponseEntity<TaskDeltaResponse> getTaskChanges(@RequestParam("since")
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+    return ResponseEntity.ok(taskService.getTaskChanges(since));
+  }
+
+  /**
+   * Retrieving a page of tasks ordered by id desc using a keyset cursor,
+   * so every page costs the same regardless of its position.
+   * @param after nextCursor of the previous page, omitted for the first page
+   * @param limit page size (1..100)
+   * @param status optional status filter
+   * @param priority optional priority filter
+   * @return ResponseEntity containing TaskPageResponse with status 200 OK
+   * @throws ValidationException if the limit is out of range
+   */
+  @GetMapping("/page")
+  public ResponseEntity<TaskPageResponse> getTasksPage(@RequestParam(value = "after", required = false) Long after,
+                                                       @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                       @RequestParam(value = "status", required = false) Task.TaskStatus status,
+                                                       @RequestParam(value = "priority", required = false) Task.TaskPriority priority) {
+    return ResponseEntity.ok(taskService.getTasksPage(after, limit, status, priority));
+  }
+
+  /**
+   * Retrieving a page of tasks with only the selected fields, see {@link #getTasksPage(Long, int, Task.TaskStatus, Task.TaskPriority)}.
+   * @param fields comma separated field names, the id is always returned
+   * @return ResponseEntity containing TaskFieldsPageResponse with status 200 OK
+   * @throws ValidationException if a field is unknown or the limit is out of range
+   */
+  @GetMapping(value = "/page", params = "fields")
+  public ResponseEntity<TaskFieldsPageResponse> getTasksPage(@RequestParam(value = "after", required = false) Long after,
+                                                             @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                             @RequestParam(value = "status", required = false) Task.TaskStatus status,
+                                                             @RequestParam(value = "priority", required = false) Task.TaskPriority priority,
+                                                             @RequestParam("fields") List<String> fields) {
+    return ResponseEntity.ok(taskService.getTasksPage(after, limit, status, priority, TaskField.parse(fields)));
+  }
+
+  /**
+   * Searching tasks whose title or description contain every word of the query.
+   * Words match as prefixes ("depl" finds "deployment"), results are ordered by relevance.
+   * @param query free text search
+   * @param after nextCursor of the previous page, omitted for the first page
+   * @param limit page size (1..100)
+   * @return ResponseEntity containing TaskSearchResponse with status 200 OK
+   * @throws ValidationException if the query has no word, too many words, or the limit is out of range
+   */
+  @GetMapping("/search")
+  public ResponseEntity<TaskSearchResponse> searchTasks(@RequestParam("q") String query,
+                                                        @RequestParam(value = "after", required = false) String after,
+                                                        @RequestParam(value = "limit", defaultValue = "20") int limit) {
+    return ResponseEntity.ok(taskService.searchTasks(query, after, limit));
+  }
+
+  /**
+   * Kanban board: the newest tasks of every status with the total of each status, in two bounded queries.
+   * A column is continued with /page?status=...&after=nextCursor of that column.
+   * @param perColumn maximum number of tasks per status (1..100)
+   * @return ResponseEntity containing TaskBoardResponse with status 200 OK
+   * @throws ValidationException if perColumn is out of range
+   */
+  @GetMapping("/board")
+  public ResponseEntity<TaskBoardResponse> getBoard(@RequestParam(value = "perColumn", defaultValue = "50") int perColumn) {
+    return ResponseEntity.ok(taskService.getBoard(perColumn));
+  }
+
+  /**
+   * Task counts by status and priority, and tasks created and completed per day.
+   * Served from counters maintained on every write, so the cost does not depend on the number of tasks.
+   * @param days number of days covered by the daily counts, today included (1..366)
+   * @return ResponseEntity containing TaskStatsResponse with status 200 OK
+   * @throws ValidationException if days is out of range
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<TaskStatsResponse> getTaskStats(@RequestParam(value = "days", defaultValue = "30") int days) {
+    return ResponseEntity.ok(taskService.getTaskStats(days));
   }
 
+  /**
+   * Stream of committed task changes (CREATED, UPDATED, STATUS_CHANGED, DELETED) as Server-Sent Events,
+   * replacing polling of the task list. A RESYNC event means changes were dropped because the client
+   * fell behind, the client must then reload its tasks. Idle streams receive a heartbeat comment.
+   * @return ResponseEntity streaming TaskChangeEvent with status 200 OK
+   * @throws ServiceUnavailableException if too many streams are open
+   */
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamTaskChanges() {
+    return ResponseEntity.ok()
+      .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+      .header("X-Accel-Buffering", "no") // nginx would otherwise buffer the events
+      .body(taskChangeFeed.subscribe(CurrentUser.getId()));
+  }
 
   /**
-   * Retrieving task by id
+   * Export every task as a streamed download. Rows are written while they are read
+   * from the database, so memory stays flat whatever the table size.
+   * @param format NDJSON (default) or CSV
+   * @return ResponseEntity streaming the tasks with status 200 OK
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(value = "format", defaultValue = "NDJSON") TaskExportFormat format) {
+    StreamingResponseBody body = outputStream -> taskService.exportTasks(format, outputStream);
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(format.getContentType()))
+      .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format.getExtension() + "\"")
+      .body(body);
+  }
+
+
+  /**
+   * Retrieving task by id, the ETag is its version and can be sent back as If-Match on updates
    * @param id task identifier
-   * @return ResponseEntity containing TaskResponse
+   * @param webRequest current request, holding If-None-Match
+   * @return ResponseEntity containing TaskResponse, or 304 Not Modified
    * @throws ResourceNotFoundException if task is not found
    */
   @GetMapping("/{id}")
-  public ResponseEntity<TaskResponse> getTaskById(@PathVariable("id") Long id) {
-    return ResponseEntity.ok(taskService.getTaskById(id));
+  public ResponseEntity<TaskResponse> getTaskById(@PathVariable("id") Long id, WebRequest webRequest) {
+    TaskResponse task = taskService.getTaskById(id);
+    String eTag = quote(String.valueOf(task.getVersion()));
+    // the ETag stays the bare version for If-Match, caches tell the representations apart with Vary
+    if (webRequest.checkNotModified(eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(task);
   }
 
   /**
    * Update an existing task by its id
    * @param id task
    * @param taskRequest task update details
-   * @return ResponseEntity containing updated TaskResponse
+   * @param ifMatch optional If-Match header, the ETag (version) the client last saw
+   * @return ResponseEntity containing updated TaskResponse with its new ETag
+   * @throws ConflictException if the task changed since the If-Match version
    */
   @PutMapping("/{id}")
-  public ResponseEntity<TaskResponse> updateTaskById(@PathVariable("id") Long id, @Valid @RequestBody TaskRequest taskRequest) {
-      TaskResponse updatedTask = taskService.updateTask(id, taskRequest);
-      return ResponseEntity.status(HttpStatus.OK).body(updatedTask);
+  public ResponseEntity<TaskResponse> updateTaskById(@PathVariable("id") Long id, @Valid @RequestBody TaskRequest taskRequest,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+      TaskResponse updatedTask = taskService.updateTask(id, taskRequest, parseVersion(ifMatch));
+      return ResponseEntity.status(HttpStatus.OK).eTag(quote(String.valueOf(updatedTask.getVersion()))).body(updatedTask);
   }
 
   /**
    *  update the task status
    * @param id task id
    * @param status status from TaskStatus
-   * @return ResponseEntity containing updated TaskResponse
+   * @param prefer optional Prefer header, "return=minimal" answers 204 without a body
+   * @param ifMatch optional If-Match header, the ETag (version) the client last saw
+   * @return ResponseEntity containing updated TaskResponse with its new ETag
+   * @throws ConflictException if the task changed since the If-Match version
    */
 
   @PatchMapping("/{id}/status")
-  public ResponseEntity<TaskResponse> updateTaskStatusById(@PathVariable("id") Long id, @RequestParam("status") String status) {
-      TaskResponse updateTaskStatus = taskService.updateTaskStatus(id, status);
-    return ResponseEntity.status(HttpStatus.OK).body(updateTaskStatus);
+  public ResponseEntity<TaskResponse> updateTaskStatusById(@PathVariable("id") Long id, @RequestParam("status") String status,
+                                                           @RequestHeader(value = "Prefer", required = false) String prefer,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Long expectedVersion = parseVersion(ifMatch);
+    // "Prefer: return=minimal" skips the returned representation, a conditional update still needs the new version
+    if (PREFER_RETURN_MINIMAL.equalsIgnoreCase(prefer) && expectedVersion == null) {
+      taskService.changeTaskStatus(id, status);
+      return ResponseEntity.noContent().build();
+    }
+    TaskResponse updateTaskStatus = taskService.updateTaskStatus(id, status, expectedVersion);
+    String eTag = quote(String.valueOf(updateTaskStatus.getVersion()));
+    if (PREFER_RETURN_MINIMAL.equalsIgnoreCase(prefer)) {
+      return ResponseEntity.noContent().eTag(eTag).build();
+    }
+    return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(updateTaskStatus);
+  }
 
+  /**
+   * update the status of many tasks in one statement (e.g. moving cards on a board)
+   * @param status status from TaskStatus
+   * @param ids task ids (1..1000)
+   * @return ResponseEntity containing BulkResponse with per-id results
+   */
+  @PatchMapping("/status")
+  public ResponseEntity<BulkResponse> updateTasksStatus(@RequestParam("status") String status, @RequestBody List<Long> ids) {
+    return ResponseEntity.ok(taskService.updateTasksStatus(ids, status));
+  }
+
+  /**
+   * claim the next pending tasks for a worker and mark them IN_PROGRESS, highest priority then oldest first.
+   * Concurrent workers never get the same task and do not wait for each other. The worker must send heartbeats
+   * within tasks.claims.lease-duration, otherwise the tasks go back to PENDING for other workers
+   * @param limit maximum number of tasks to claim (1..100)
+   * @param worker optional worker id holding the lease, defaults to the username
+   * @return ResponseEntity containing the claimed tasks, empty when no task is pending
+   * @throws ValidationException if the limit is out of range
+   */
+  @PostMapping("/claim")
+  public ResponseEntity<List<TaskResponse>> claimTasks(@RequestParam(value = "limit", defaultValue = "1") int limit,
+                                                       @RequestParam(value = "worker", required = false) String worker) {
+    return ResponseEntity.ok(taskService.claimTasks(limit, worker));
   }
 
+  /**
+   * extend the lease of a claimed task, answers 409 once the worker lost it (lease expired or status changed)
+   * @param id task id
+   * @param worker worker id given when claiming, defaults to the username
+   * @throws ResourceNotFoundException if task is not found
+   * @throws ConflictException if the task is no longer claimed by the worker
+   */
+  @PostMapping("/{id}/heartbeat")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void heartbeat(@PathVariable("id") Long id, @RequestParam(value = "worker", required = false) String worker) {
+    taskService.heartbeat(id, worker);
+  }
 
   /**
    * delete task by id
@@ -117,4 +371,76 @@ public class TaskController {
     taskService.deleteTask(id);
   }
 
+  /**
+   * Create many tasks in one transaction.
+   * Invalid items are reported individually and do not prevent the others from being created.
+   * @param taskRequests tasks to create (1..1000)
+   * @param idempotencyKey optional Idempotency-Key header
+   * @return ResponseEntity containing BulkResponse with per-item results
+   * @throws ValidationException if the list is empty or too large
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkResponse> createTasks(@RequestBody List<TaskRequest> taskRequests,
+                                                  @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute(idempotencyKey, "POST /api/v1/tasks/bulk", taskRequests, BulkResponse.class,
+      () -> ResponseEntity.ok(taskService.createTasks(taskRequests)));
+  }
+
+  /**
+   * Partially update many tasks in one transaction.
+   * @param updates task ids with the fields to change (1..1000)
+   * @param idempotencyKey optional Idempotency-Key header
+   * @return ResponseEntity containing BulkResponse with per-item results
+   * @throws ValidationException if the list is empty or too large
+   */
+  @PatchMapping("/bulk")
+  public ResponseEntity<BulkResponse> updateTasks(@RequestBody List<TaskBulkUpdateRequest> updates,
+                                                  @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute(idempotencyKey, "PATCH /api/v1/tasks/bulk", updates, BulkResponse.class,
+      () -> ResponseEntity.ok(taskService.updateTasks(updates)));
+  }
+
+  /**
+   * Delete many tasks in one statement.
+   * @param ids task identifiers (1..1000)
+   * @param idempotencyKey optional Idempotency-Key header
+   * @return ResponseEntity containing BulkResponse with per-item results
+   * @throws ValidationException if the list is empty or too large
+   */
+  @DeleteMapping("/bulk")
+  public ResponseEntity<BulkResponse> deleteTasks(@RequestBody List<Long> ids,
+                                                  @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute(idempotencyKey, "DELETE /api/v1/tasks/bulk", ids, BulkResponse.class,
+      () -> ResponseEntity.ok(taskService.deleteTasks(ids)));
+  }
+
+  private static String quote(String eTag) {
+    return '"' + eTag + '"';
+  }
+
+  /**
+   * each representation of the list has its own ETag, a JSON validator never revalidates a compact copy
+   */
+  private static String listETag(String version, WebRequest webRequest) {
+    return quote(version + "-" + CompactWireFormat.representation(webRequest.getHeader(HttpHeaders.ACCEPT)));
+  }
+
+  /**
+   * version expected by an If-Match header, null when absent or "*" (any version)
+   */
+  private static Long parseVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String value = ifMatch.trim();
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      value = value.substring(1, value.length() - 1);
+    }
+    try {
+      return Long.valueOf(value);
+    } catch (NumberFormatException e) {
+      // weak or foreign ETags cannot be used for a conditional update
+      throw new ValidationException(String.format("Invalid If-Match header '%s', expected the ETag of the task", ifMatch));
+    }
+  }
 }
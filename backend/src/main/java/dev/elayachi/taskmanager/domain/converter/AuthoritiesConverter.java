@@ -0,0 +1,87 @@
+package dev.elayachi.taskmanager.domain.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Converts the "::" separated authorities column into an immutable set of GrantedAuthority.
+ * The column is parsed once when the user is loaded, and users sharing the same
+ * authorities string share the same set instance.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Converter
+@Immutable
+public class AuthoritiesConverter implements AttributeConverter<Set<GrantedAuthority>, String> {
+
+  // Delimiter used to split authorities string
+  public static final String AUTHORITIES_DELIMITER = "::";
+
+  // Upper bound of distinct authority combinations kept, beyond it sets are still parsed but not shared
+  private static final int MAX_INTERNED = 1024;
+
+  private static final Map<String, Set<GrantedAuthority>> INTERNED = new ConcurrentHashMap<>();
+
+  @Override
+  public String convertToDatabaseColumn(Set<GrantedAuthority> authorities) {
+    if (authorities == null) {
+      return null;
+    }
+    return authorities.stream()
+      .map(GrantedAuthority::getAuthority)
+      .collect(Collectors.joining(AUTHORITIES_DELIMITER));
+  }
+
+  @Override
+  public Set<GrantedAuthority> convertToEntityAttribute(String authorities) {
+    return parse(authorities);
+  }
+
+  /**
+   * Returns the shared immutable set for an authorities string.
+   * @param authorities "::" separated authority names
+   * @return immutable set of GrantedAuthority, or null when authorities is null
+   */
+  public static Set<GrantedAuthority> parse(String authorities) {
+    if (authorities == null) {
+      return null;
+    }
+    Set<GrantedAuthority> interned = INTERNED.get(authorities);
+    if (interned != null) {
+      return interned;
+    }
+    Set<GrantedAuthority> parsed = split(authorities);
+    if (INTERNED.size() >= MAX_INTERNED) {
+      return parsed;
+    }
+    Set<GrantedAuthority> previous = INTERNED.putIfAbsent(authorities, parsed);
+    return previous != null ? previous : parsed;
+  }
+
+  /**
+   * Splits on the literal delimiter with indexOf, String.split would compile a regex for a two char delimiter.
+   */
+  private static Set<GrantedAuthority> split(String authorities) {
+    Set<GrantedAuthority> result = new LinkedHashSet<>();
+    int start = 0;
+    int end;
+    while ((end = authorities.indexOf(AUTHORITIES_DELIMITER, start)) >= 0) {
+      result.add(new SimpleGrantedAuthority(authorities.substring(start, end)));
+      start = end + AUTHORITIES_DELIMITER.length();
+    }
+    result.add(new SimpleGrantedAuthority(authorities.substring(start)));
+    return Collections.unmodifiableSet(result);
+  }
+}
@@ -0,0 +1,27 @@
+package dev.elayachi.taskmanager.domain.converter;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores Task.TaskPriority as its SMALLINT code instead of its name,
+ * 2 bytes per row and per index entry instead of up to 7, and sorting by it sorts by urgency.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Converter
+public class TaskPriorityConverter implements AttributeConverter<Task.TaskPriority, Short> {
+
+  @Override
+  public Short convertToDatabaseColumn(Task.TaskPriority priority) {
+    return priority == null ? null : priority.getCode();
+  }
+
+  @Override
+  public Task.TaskPriority convertToEntityAttribute(Short code) {
+    return code == null ? null : Task.TaskPriority.fromCode(code);
+  }
+}
@@ -0,0 +1,27 @@
+package dev.elayachi.taskmanager.domain.converter;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores Task.TaskStatus as its SMALLINT code instead of its name,
+ * 2 bytes per row and per index entry instead of up to 12.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Converter
+public class TaskStatusConverter implements AttributeConverter<Task.TaskStatus, Short> {
+
+  @Override
+  public Short convertToDatabaseColumn(Task.TaskStatus status) {
+    return status == null ? null : status.getCode();
+  }
+
+  @Override
+  public Task.TaskStatus convertToEntityAttribute(Short code) {
+    return code == null ? null : Task.TaskStatus.fromCode(code);
+  }
+}
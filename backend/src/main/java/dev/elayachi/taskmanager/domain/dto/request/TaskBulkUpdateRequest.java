@@ -0,0 +1,40 @@
+package dev.elayachi.taskmanager.domain.dto.request;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single item of a bulk update.
+ * Only the fields that are set are applied to the task identified by {@code id},
+ * and only if it is still at {@code version} when one is given.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkUpdateRequest {
+
+    @NotNull(message = "Id is required")
+    private Long id;
+
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    private String title;
+
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+
+    private Task.TaskStatus status;
+
+    private Task.TaskPriority priority;
+
+    // optional expected version, the item fails with 409 when the task was changed since
+    private Long version;
+}
@@ -0,0 +1,45 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk request.
+ * {@code index} is the position of the item in the request body and
+ * {@code status} an HTTP-like status code for that item.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    private int index;
+    private Long id;
+    private int status;
+    private String error;
+    private TaskResponse task;
+
+    public static BulkItemResult success(int index, int status, TaskResponse task) {
+        return new BulkItemResult(index, task.getId(), status, null, task);
+    }
+
+    public static BulkItemResult success(int index, int status, Long id) {
+        return new BulkItemResult(index, id, status, null, null);
+    }
+
+    public static BulkItemResult failure(int index, Long id, int status, String error) {
+        return new BulkItemResult(index, id, status, error, null);
+    }
+
+    public boolean isSuccess() {
+        return status < 400;
+    }
+}
@@ -0,0 +1,30 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of the bulk task endpoints with one result per request item.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+
+    public static BulkResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        return new BulkResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kanban board: one column per status, in declaration order, each with its newest tasks and total.
+ * Every status is present, with no items and 0 when no task has it.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBoardResponse {
+
+    private List<Column> columns;
+
+    /**
+     * Newest tasks of one status.
+     * {@code nextCursor} loads the rest of the column as {@code /page?status=...&after=nextCursor},
+     * it is null when the column has no more tasks.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Column {
+
+        private Task.TaskStatus status;
+        private String statusDisplayName;
+        private List<TaskResponse> items;
+        private long total;
+        private Long nextCursor;
+        private boolean hasMore;
+    }
+}
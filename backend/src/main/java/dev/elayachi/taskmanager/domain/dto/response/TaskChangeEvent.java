@@ -0,0 +1,62 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change pushed on the task change feed.
+ * {@code task} holds the new state when it was read back, status-only changes carry {@code status} instead.
+ * A RESYNC event means changes were dropped and the client must reload its tasks.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeEvent {
+
+    private ChangeType type;
+    private Long id;
+    private Task.TaskStatus status;
+    private TaskResponse task;
+
+    public static TaskChangeEvent created(TaskResponse task) {
+        return new TaskChangeEvent(ChangeType.CREATED, task.getId(), null, task);
+    }
+
+    public static TaskChangeEvent updated(TaskResponse task) {
+        return new TaskChangeEvent(ChangeType.UPDATED, task.getId(), null, task);
+    }
+
+    public static TaskChangeEvent statusChanged(TaskResponse task) {
+        return new TaskChangeEvent(ChangeType.STATUS_CHANGED, task.getId(), task.getStatus(), task);
+    }
+
+    public static TaskChangeEvent statusChanged(Long id, Task.TaskStatus status) {
+        return new TaskChangeEvent(ChangeType.STATUS_CHANGED, id, status, null);
+    }
+
+    public static TaskChangeEvent deleted(Long id) {
+        return new TaskChangeEvent(ChangeType.DELETED, id, null, null);
+    }
+
+    public static TaskChangeEvent resync() {
+        return new TaskChangeEvent(ChangeType.RESYNC, null, null, null);
+    }
+
+    // Enum for the kind of change
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        RESYNC
+    }
+}
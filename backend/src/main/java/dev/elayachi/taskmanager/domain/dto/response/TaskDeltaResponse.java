@@ -0,0 +1,34 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tasks changed and deleted since the previous sync.
+ * {@code nextSince} is the value to pass as {@code since} on the next sync. A task may be reported
+ * again on the next sync, so clients apply changes by id. When {@code resync} is true the lists are
+ * empty and the client must reload every task.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDeltaResponse {
+
+    private List<TaskResponse> changed;
+    private List<Long> deleted;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime nextSince;
+
+    private boolean resync;
+}
@@ -0,0 +1,25 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset page of tasks with only the selected fields, see {@link TaskPageResponse}.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFieldsPageResponse {
+
+    private List<TaskFieldsResponse> items;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,40 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task with only the fields selected by {@code ?fields=}, the others are left out of the JSON.
+ * The display names come with their status and priority.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskFieldsResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Task.TaskStatus status;
+    private String statusDisplayName;
+    private Task.TaskPriority priority;
+    private String priorityDisplayName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    private Long version;
+}
@@ -0,0 +1,27 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset page of tasks ordered by id descending.
+ * {@code nextCursor} is the value to pass as {@code after} to fetch the next page,
+ * or null when there are no more tasks.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+
+    private List<TaskResponse> items;
+    private Long nextCursor;
+    private boolean hasMore;
+}
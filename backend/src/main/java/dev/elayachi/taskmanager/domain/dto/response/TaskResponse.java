@@ -35,4 +35,7 @@ public class TaskResponse {
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    // send it back as If-Match to update only if nobody changed the task in between
+    private Long version;
 }
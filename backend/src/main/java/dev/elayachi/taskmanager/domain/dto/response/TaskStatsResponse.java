@@ -0,0 +1,47 @@
+package dev.elayachi.taskmanager.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated task counts for dashboards.
+ * Every status and priority is present, with 0 when no task has it.
+ * {@code daily} lists every day of the requested window, oldest first.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+
+    private long total;
+    private Map<Task.TaskStatus, Long> byStatus;
+    private Map<Task.TaskPriority, Long> byPriority;
+    private Map<Task.TaskStatus, Map<Task.TaskPriority, Long>> byStatusAndPriority;
+    private List<DailyCount> daily;
+
+    /**
+     * Tasks created and completed on one day.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyCount {
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate date;
+        private long created;
+        private long completed;
+    }
+}
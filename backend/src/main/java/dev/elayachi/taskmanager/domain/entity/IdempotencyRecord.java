@@ -0,0 +1,47 @@
+package dev.elayachi.taskmanager.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response stored for an Idempotency-Key, shared by all backend nodes.
+ * Maps to the "idempotency_keys" table, used only when tasks.idempotency.store is database.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+  @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord {
+
+  // scope, user and client key, see IdempotencyService
+  @Id
+  @Column(name = "idempotency_key", length = 512)
+  private String key;
+
+  // SHA-256 of the request body, a key reused for another body is rejected
+  @Column(name = "fingerprint", nullable = false, length = 64)
+  private String fingerprint;
+
+  // null while the request is in progress
+  @Column(name = "status_code")
+  private Integer statusCode;
+
+  @Column(name = "response_body", columnDefinition = "TEXT")
+  private String responseBody;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -1,11 +1,17 @@
 package dev.elayachi.taskmanager.domain.entity;
 
+import dev.elayachi.taskmanager.domain.converter.TaskPriorityConverter;
+import dev.elayachi.taskmanager.domain.converter.TaskStatusConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,12 +29,23 @@ import java.util.Objects;
 @Getter
 @Setter
 @Entity
-@Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
+@Table(name = "tasks", indexes = {
+  @Index(name = "idx_tasks_owner_id", columnList = "owner_id, id DESC"),
+  @Index(name = "idx_tasks_owner_status_id", columnList = "owner_id, status, id DESC"),
+  @Index(name = "idx_tasks_owner_priority_id", columnList = "owner_id, priority, id DESC"),
+  @Index(name = "idx_tasks_owner_updated_at_id", columnList = "owner_id, updated_at, id")
+})
 public class Task {
 
+  // second-level cache region of task entities, sized in application.conf
+  public static final String CACHE_REGION = "tasks";
 
+  // pooled sequence so Hibernate can batch inserts (IDENTITY forces one round-trip per row)
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+  @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "title", nullable = false, length = 255)
@@ -37,12 +54,14 @@ public class Task {
   @Column(name = "description", columnDefinition = "TEXT")
   private String description;
 
-  @Enumerated(EnumType.STRING)
-  @Column(name = "status", nullable = false, length = 50)
+  // SMALLINT code, see TaskStatus#getCode
+  @Convert(converter = TaskStatusConverter.class)
+  @Column(name = "status", nullable = false)
   private TaskStatus status = TaskStatus.PENDING;
 
-  @Enumerated(EnumType.STRING)
-  @Column(name = "priority", nullable = false, length = 50)
+  // SMALLINT code ranking the urgency, ORDER BY priority DESC puts HIGH first
+  @Convert(converter = TaskPriorityConverter.class)
+  @Column(name = "priority", nullable = false)
   private TaskPriority priority = TaskPriority.MEDIUM;
 
   @CreationTimestamp
@@ -53,6 +72,33 @@ public class Task {
   @Column(name = "updated_at", nullable = false)
   private LocalDateTime updatedAt;
 
+  // id of the owning user, every query of TaskRepository is scoped by it
+  @Column(name = "owner_id")
+  private Integer ownerId;
+
+  // declares the foreign key only, ownerId is what is read and written so the user is never loaded
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "owner_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_tasks_owner"))
+  private User owner;
+
+  // worker holding the task while IN_PROGRESS and until when, written only by the native claim, heartbeat
+  // and reaper statements of TaskRepository, so the copy in the second-level cache may be stale
+  @Setter(AccessLevel.NONE)
+  @Column(name = "claimed_by", insertable = false, updatable = false)
+  private String claimedBy;
+
+  @Setter(AccessLevel.NONE)
+  @Column(name = "lease_expires_at", insertable = false, updatable = false)
+  private LocalDateTime leaseExpiresAt;
+
+  // optimistic lock, bumped by every write including the native single-statement updates of TaskRepository
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private Long version;
+
 
 
   @PrePersist
@@ -95,15 +141,21 @@ public class Task {
       ", priority=" + priority +
       ", createdAt=" + createdAt +
       ", updatedAt=" + updatedAt +
+      ", ownerId=" + ownerId +
+      ", claimedBy='" + claimedBy + '\'' +
+      ", leaseExpiresAt=" + leaseExpiresAt +
+      ", version=" + version +
       '}';
   }
 
-  // Enum for Task Status
+  // Enum for Task Status, stored by its code: only append new values, never reorder them
   public enum TaskStatus {
     PENDING("Pending"),
     IN_PROGRESS("In Progress"),
     COMPLETED("Completed");
 
+    private static final TaskStatus[] BY_CODE = values();
+
     private final String displayName;
 
     TaskStatus(String displayName) {
@@ -113,14 +165,30 @@ public class Task {
     public String getDisplayName() {
       return displayName;
     }
+
+    /**
+     * @return the SMALLINT stored in the status column, the declaration index
+     */
+    public short getCode() {
+      return (short) ordinal();
+    }
+
+    public static TaskStatus fromCode(short code) {
+      if (code < 0 || code >= BY_CODE.length) {
+        throw new IllegalArgumentException("Unknown task status code " + code);
+      }
+      return BY_CODE[code];
+    }
   }
 
-  // Enum for Task Priority
+  // Enum for Task Priority, stored by its code: declared from least to most urgent, so codes sort by urgency
   public enum TaskPriority {
     LOW("Low"),
     MEDIUM("Medium"),
     HIGH("High");
 
+    private static final TaskPriority[] BY_CODE = values();
+
     private final String displayName;
 
     TaskPriority(String displayName) {
@@ -130,5 +198,19 @@ public class Task {
     public String getDisplayName() {
       return displayName;
     }
+
+    /**
+     * @return the SMALLINT stored in the priority column, the declaration index
+     */
+    public short getCode() {
+      return (short) ordinal();
+    }
+
+    public static TaskPriority fromCode(short code) {
+      if (code < 0 || code >= BY_CODE.length) {
+        throw new IllegalArgumentException("Unknown task priority code " + code);
+      }
+      return BY_CODE[code];
+    }
   }
 }
@@ -1,15 +1,15 @@
 package dev.elayachi.taskmanager.domain.entity;
 
+import dev.elayachi.taskmanager.domain.converter.AuthoritiesConverter;
+import dev.elayachi.taskmanager.security.UserCacheEvictionListener;
+import dev.elayachi.taskmanager.security.UserIdentity;
 import jakarta.persistence.*;
 import lombok.*; // Import Lombok annotations
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Represents a user in the system with security details.
@@ -21,9 +21,8 @@ import java.util.stream.Collectors;
 @Getter
 @Setter
 @Table(name = "users")
-public class User implements UserDetails {
-    // Delimiter used to split authorities string
-    private static final String AUTHORITIES_DELIMITER = "::";
+@EntityListeners(UserCacheEvictionListener.class) // Evicts the cached copy when the user changes
+public class User implements UserDetails, UserIdentity {
 
     // Unique identifier for the user
     @Id
@@ -41,22 +40,22 @@ public class User implements UserDetails {
     @Column(name = "password", nullable = false, length = 255)
     private String password;
 
+    // Parsed once on load into a shared immutable set ("::" separated in the column)
+    @Convert(converter = AuthoritiesConverter.class)
     @Column(name = "authorities", nullable = false, length = 255)
-    private String authorities;
+    private Set<GrantedAuthority> authorities;
 
     @Column(name = "enabled", nullable = false)
     private boolean enabled;
 
     /**
      * Returns the authorities granted to the user.
-     * @return a collection of GrantedAuthority objects
+     * The set is resolved when the user is loaded, so this call does not allocate.
+     * @return an immutable collection of GrantedAuthority objects
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Split the authorities string and convert to a list of SimpleGrantedAuthority objects
-        return Arrays.stream(this.authorities.split(AUTHORITIES_DELIMITER))
-                     .map(SimpleGrantedAuthority::new)
-                     .collect(Collectors.toList());
+        return authorities;
     }
 
     /**
@@ -110,6 +109,6 @@ public class User implements UserDetails {
      */
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
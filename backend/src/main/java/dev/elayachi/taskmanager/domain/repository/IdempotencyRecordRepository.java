@@ -0,0 +1,63 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+import dev.elayachi.taskmanager.domain.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency keys stored in the database, each method commits on its own so other nodes see it right away.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  /**
+   * Claims a key for the calling node: inserts it in progress, or takes over a claim left
+   * in progress since before staleBefore (node stopped while executing the request).
+   * @return 1 when claimed, 0 when the key is completed or in progress elsewhere
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+    INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at) VALUES (:key, :fingerprint, :now)
+    ON CONFLICT (idempotency_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, created_at = EXCLUDED.created_at
+    WHERE idempotency_keys.status_code IS NULL AND idempotency_keys.created_at < :staleBefore
+    """, nativeQuery = true)
+  int claim(@Param("key") String key, @Param("fingerprint") String fingerprint,
+            @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+  /**
+   * Stores the response of a claimed key.
+   * @return number of updated rows
+   */
+  @Transactional
+  @Modifying
+  @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.responseBody = :responseBody where r.key = :key")
+  int complete(@Param("key") String key, @Param("statusCode") int statusCode, @Param("responseBody") String responseBody);
+
+  /**
+   * Releases a claimed key whose request failed, so the client can retry it.
+   * @return number of deleted rows
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.key = :key and r.statusCode is null")
+  int release(@Param("key") String key);
+
+  /**
+   * Purges the keys older than the retention.
+   * @param before exclusive upper bound of the creation time
+   * @return number of purged keys
+   */
+  @Transactional
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+  int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
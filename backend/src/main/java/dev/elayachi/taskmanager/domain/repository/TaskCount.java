@@ -0,0 +1,17 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+/**
+ * Number of tasks with one status and priority, read from the task_counts table (SMALLINT codes).
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TaskCount {
+
+  Short getStatus();
+
+  Short getPriority();
+
+  Long getCount();
+}
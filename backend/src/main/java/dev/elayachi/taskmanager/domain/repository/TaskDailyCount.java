@@ -0,0 +1,19 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+import java.sql.Date;
+
+/**
+ * Tasks created and completed on one day, read from the task_daily_counts table.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TaskDailyCount {
+
+  Date getDay();
+
+  Long getCreated();
+
+  Long getCompleted();
+}
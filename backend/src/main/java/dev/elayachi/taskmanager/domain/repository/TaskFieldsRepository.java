@@ -0,0 +1,29 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Projections of tasks on a chosen set of attributes, so the columns a list does not show
+ * (the description TEXT above all) are neither read from the database nor hydrated into entities.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TaskFieldsRepository {
+
+  /**
+   * Selects the given attributes of the matching tasks ordered by id desc.
+   * @param spec filter of the tasks, scoped by owner
+   * @param attributes Task attributes to select, each one is the alias of its tuple element
+   * @param limit maximum number of rows, Limit.unlimited() for all of them
+   * @return List of tuples, not managed and not cached
+   */
+  List<Tuple> findFields(Specification<Task> spec, Collection<String> attributes, Limit limit);
+}
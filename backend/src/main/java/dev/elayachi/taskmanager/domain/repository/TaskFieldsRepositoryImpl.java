@@ -0,0 +1,50 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link TaskFieldsRepository}, picked up by Spring Data as a fragment of TaskRepository.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public class TaskFieldsRepositoryImpl implements TaskFieldsRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Tuple> findFields(Specification<Task> spec, Collection<String> attributes, Limit limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Task> root = query.from(Task.class);
+    List<Selection<?>> selections = attributes.stream()
+      .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+      .toList();
+    query.multiselect(selections).orderBy(cb.desc(root.get("id")));
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+    if (limit.isLimited()) {
+      typedQuery.setMaxResults(limit.max());
+    }
+    return typedQuery.getResultList();
+  }
+}
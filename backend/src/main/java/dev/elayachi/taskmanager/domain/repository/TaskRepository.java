@@ -1,18 +1,298 @@
 package dev.elayachi.taskmanager.domain.repository;
 
 import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
- *
+ * Task queries, all scoped by the owner of the tasks (owner_id leading indexes of V10__task_owner.sql),
+ * so their cost follows the tasks of one user and not the whole table.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>{
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskFieldsRepository {
+
+  // query cache region of getAllTasks, sized in application.conf
+  String TASKS_LIST_CACHE_REGION = "tasks-list";
+
+  // SMALLINT codes of the statuses for the native queries, see Task.TaskStatus#getCode
+  String PENDING = "0";
+  String IN_PROGRESS = "1";
+  String COMPLETED = "2";
+
+  // SET clause keeping the lease while the status is unchanged, the right-hand sides read the row before the update
+  String RELEASE_LEASE_ON_STATUS_CHANGE = "claimed_by = CASE WHEN status = :status THEN claimed_by END, "
+    + "lease_expires_at = CASE WHEN status = :status THEN lease_expires_at END, ";
+
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = TASKS_LIST_CACHE_REGION)
+  })
+  @Query("SELECT t from Task t where t.ownerId = :ownerId order by t.id desc")
+  public List<Task> getAllTasks(@Param("ownerId") Integer ownerId);
+
+  /**
+   * Streams every task of the owner ordered by id desc using a server-side cursor.
+   * Must be consumed inside a (read-only) transaction and closed afterwards.
+   * @return Stream of read-only Task entities
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT t from Task t where t.ownerId = :ownerId order by t.id desc")
+  Stream<Task> streamAllTasks(@Param("ownerId") Integer ownerId);
+
+  /**
+   * Full-text search on the GIN indexed search_vector column (V5__tasks_full_text_search.sql),
+   * keyset paginated on (rank desc, id desc).
+   * @param query to_tsquery expression, e.g. "deploy:* & api:*"
+   * @param afterRank rank of the last hit of the previous page, +Infinity for the first page
+   * @param afterId id of the last hit of the previous page, Long.MAX_VALUE for the first page
+   * @param limit maximum number of hits
+   * @return ids and ranks of the matching tasks, most relevant first
+   */
+  @Query(value = "SELECT id, rank FROM ("
+    + "SELECT t.id AS id, ts_rank(t.search_vector, query) AS rank "
+    + "FROM tasks t CROSS JOIN to_tsquery('simple', :query) AS query "
+    + "WHERE t.search_vector @@ query AND t.owner_id = :ownerId) ranked "
+    + "WHERE rank < :afterRank OR (rank = :afterRank AND id < :afterId) "
+    + "ORDER BY rank DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<TaskSearchHit> searchIds(@Param("ownerId") Integer ownerId, @Param("query") String query,
+                                @Param("afterRank") float afterRank, @Param("afterId") long afterId, @Param("limit") int limit);
+
+  /**
+   * Newest tasks of every status for the board, at most perColumn of each.
+   * One LIMIT per status on idx_tasks_owner_status_id, so the rows read do not depend on the number of tasks.
+   * @param perColumn maximum number of tasks per status
+   * @return tasks ordered by status then id desc
+   */
+  @Query(value = "SELECT t.* FROM (VALUES (" + PENDING + "), (" + IN_PROGRESS + "), (" + COMPLETED + ")) AS s(status) "
+    + "CROSS JOIN LATERAL (SELECT * FROM tasks WHERE owner_id = :ownerId AND status = s.status "
+    + "ORDER BY id DESC LIMIT :perColumn) t "
+    + "ORDER BY t.status, t.id DESC", nativeQuery = true)
+  List<Task> findBoardTasks(@Param("ownerId") Integer ownerId, @Param("perColumn") int perColumn);
+
+  /**
+   * Task counts per status and priority, maintained by triggers (V6__task_counts.sql, per owner since V10__task_owner.sql).
+   * At most one row per status and priority combination, whatever the size of tasks.
+   * @return the non-empty counters of the owner
+   */
+  @Query(value = "SELECT status, priority, task_count AS count FROM task_counts WHERE owner_id = :ownerId", nativeQuery = true)
+  List<TaskCount> countByStatusAndPriority(@Param("ownerId") Integer ownerId);
+
+  /**
+   * Tasks created and completed per day, maintained by triggers (V6__task_counts.sql, per owner since V10__task_owner.sql).
+   * @param from first day, inclusive
+   * @return one row per day with activity of the owner, oldest first
+   */
+  @Query(value = "SELECT day, created_count AS created, completed_count AS completed FROM task_daily_counts "
+    + "WHERE owner_id = :ownerId AND day >= :from ORDER BY day", nativeQuery = true)
+  List<TaskDailyCount> dailyCountsFrom(@Param("ownerId") Integer ownerId, @Param("from") LocalDate from);
+
+  /**
+   * Version of the task list of the owner, bumped by triggers (V14__task_list_versions.sql) on every committed change.
+   * @return the version, empty while the owner never had a task
+   */
+  @Query(value = "SELECT version FROM task_list_versions WHERE owner_id = :ownerId", nativeQuery = true)
+  Optional<Long> findListVersion(@Param("ownerId") Integer ownerId);
+
+  /**
+   * Tasks created or updated after a point in time, oldest change first (idx_tasks_owner_updated_at_id).
+   * @param from exclusive lower bound of updatedAt
+   * @param limit maximum number of tasks
+   * @return the changed tasks of the owner
+   */
+  @Query("SELECT t FROM Task t WHERE t.ownerId = :ownerId AND t.updatedAt > :from ORDER BY t.updatedAt, t.id")
+  List<Task> findUpdatedAfter(@Param("ownerId") Integer ownerId, @Param("from") LocalDateTime from, Limit limit);
+
+  /**
+   * Ids of the tasks deleted after a point in time, recorded by a trigger (V7__task_delta_sync.sql).
+   * @param from exclusive lower bound of the deletion time
+   * @param limit maximum number of ids
+   * @return the deleted task ids of the owner
+   */
+  @Query(value = "SELECT task_id FROM task_tombstones WHERE owner_id = :ownerId AND deleted_at > :from "
+    + "ORDER BY deleted_at LIMIT :limit", nativeQuery = true)
+  List<Long> findDeletedIdsAfter(@Param("ownerId") Integer ownerId, @Param("from") LocalDateTime from, @Param("limit") int limit);
+
+  /**
+   * Purges the tombstones older than the retention.
+   * @param before exclusive upper bound of the deletion time
+   * @return number of purged tombstones
+   */
+  @Modifying
+  @Query(value = "DELETE FROM task_tombstones WHERE deleted_at < :before", nativeQuery = true)
+  int deleteTombstonesBefore(@Param("before") LocalDateTime before);
+
+  /**
+   * Changes the status of one task in a single statement.
+   * @return number of updated rows, 0 when the task does not exist or belongs to another owner
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Task t set t.claimedBy = case when t.status = :status then t.claimedBy end, "
+    + "t.leaseExpiresAt = case when t.status = :status then t.leaseExpiresAt end, "
+    + "t.status = :status, t.updatedAt = :now, t.version = t.version + 1 "
+    + "where t.id = :id and t.ownerId = :ownerId")
+  int updateStatus(@Param("id") Long id, @Param("ownerId") Integer ownerId, @Param("status") Task.TaskStatus status,
+                   @Param("now") LocalDateTime now);
+
+  /**
+   * Deletes one task in a single statement.
+   * @return number of deleted rows, 0 when the task does not exist or belongs to another owner
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Task t where t.id = :id and t.ownerId = :ownerId")
+  int deleteTaskById(@Param("id") Long id, @Param("ownerId") Integer ownerId);
+
+  /**
+   * Deletes the tasks of the owner among the given ids in a single statement.
+   * @return ids of the deleted tasks
+   */
+  @Query(value = "DELETE FROM tasks WHERE id IN (:ids) AND owner_id = :ownerId RETURNING id", nativeQuery = true)
+  List<Long> deleteTasksReturningIds(@Param("ids") Collection<Long> ids, @Param("ownerId") Integer ownerId);
+
+  /*
+   * The native UPDATE ... RETURNING queries below run as result set queries, so Hibernate does not
+   * invalidate the second-level cache for them: callers must lock the touched tasks in the cache until the
+   * transaction completes. The returned rows are not committed yet, they bypass the cache (CacheMode.IGNORE).
+   * A status change releases the claim lease (claimed_by, lease_expires_at), the worker no longer owns the task.
+   */
+
+  /**
+   * Changes the status of one task and returns the updated row from the same statement.
+   * @param status code of the new status
+   * @return the updated task, empty when the task does not exist or belongs to another owner
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "UPDATE tasks SET " + RELEASE_LEASE_ON_STATUS_CHANGE + "status = :status, updated_at = :now, version = version + 1 "
+    + "WHERE id = :id AND owner_id = :ownerId RETURNING *", nativeQuery = true)
+  Optional<Task> updateStatusReturning(@Param("id") Long id, @Param("ownerId") Integer ownerId,
+                                       @Param("status") short status, @Param("now") LocalDateTime now);
+
+  /**
+   * Changes the status of one task only if it is still at the expected version.
+   * @param status code of the new status
+   * @param version expected version
+   * @return the updated task, empty when the task does not exist, belongs to another owner or is at another version
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "UPDATE tasks SET " + RELEASE_LEASE_ON_STATUS_CHANGE + "status = :status, updated_at = :now, version = version + 1 "
+    + "WHERE id = :id AND owner_id = :ownerId AND version = :version RETURNING *", nativeQuery = true)
+  Optional<Task> updateStatusReturningIfVersion(@Param("id") Long id, @Param("ownerId") Integer ownerId,
+                                                @Param("status") short status, @Param("now") LocalDateTime now,
+                                                @Param("version") long version);
+
+  /**
+   * Changes the status of many tasks in one statement.
+   * @param status code of the new status
+   * @return ids of the tasks of the owner that were updated
+   */
+  @Query(value = "UPDATE tasks SET " + RELEASE_LEASE_ON_STATUS_CHANGE + "status = :status, updated_at = :now, version = version + 1 "
+    + "WHERE id IN (:ids) AND owner_id = :ownerId RETURNING id", nativeQuery = true)
+  List<Long> updateStatusesReturningIds(@Param("ids") Collection<Long> ids, @Param("ownerId") Integer ownerId,
+                                        @Param("status") short status, @Param("now") LocalDateTime now);
+
+  /**
+   * Claims the next PENDING tasks of the owner, highest priority then oldest first, and marks them IN_PROGRESS
+   * under a lease held by the worker.
+   * SKIP LOCKED makes concurrent claimers pass over the rows another claimer holds instead of waiting
+   * for it, so each task is claimed once and workers never queue behind each other (idx_tasks_pending_claim).
+   * @param limit maximum number of tasks to claim
+   * @param worker claimer, the only one allowed to extend the lease
+   * @param leaseExpiresAt end of the lease, the task goes back to PENDING after it unless extended
+   * @return the claimed tasks, in no particular order
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "WITH claimable AS ("
+    + "SELECT id FROM tasks WHERE owner_id = :ownerId AND status = " + PENDING + " "
+    + "ORDER BY priority DESC, created_at, id "
+    + "LIMIT :limit FOR UPDATE SKIP LOCKED) "
+    + "UPDATE tasks t SET status = " + IN_PROGRESS + ", claimed_by = :worker, lease_expires_at = :leaseExpiresAt, "
+    + "updated_at = :now, version = t.version + 1 "
+    + "FROM claimable WHERE t.id = claimable.id RETURNING t.*", nativeQuery = true)
+  List<Task> claimPendingTasks(@Param("ownerId") Integer ownerId, @Param("limit") int limit, @Param("worker") String worker,
+                               @Param("now") LocalDateTime now, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+  /**
+   * Extends the lease of a task still IN_PROGRESS and claimed by the worker. Neither the version nor
+   * updated_at change: a heartbeat is not a change of the task, clients and caches are not told about it.
+   * @param leaseExpiresAt new end of the lease
+   * @return the id of the task, empty when it is missing, belongs to another owner or is no longer claimed by the worker
+   */
+  @Query(value = "UPDATE tasks SET lease_expires_at = :leaseExpiresAt "
+    + "WHERE id = :id AND owner_id = :ownerId AND status = " + IN_PROGRESS + " AND claimed_by = :worker RETURNING id",
+    nativeQuery = true)
+  Optional<Long> extendLease(@Param("id") Long id, @Param("ownerId") Integer ownerId, @Param("worker") String worker,
+                             @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+  /**
+   * Puts back to PENDING a batch of IN_PROGRESS tasks whose lease expired, e.g. their worker crashed,
+   * oldest expiry first (idx_tasks_lease_expires_at). SKIP LOCKED leaves the rows being claimed or
+   * heartbeated to the next run, and lets several nodes reap at the same time.
+   * @param limit maximum number of tasks to release
+   * @return the released tasks
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "WITH expired AS ("
+    + "SELECT id FROM tasks WHERE status = " + IN_PROGRESS + " AND lease_expires_at < :now "
+    + "ORDER BY lease_expires_at LIMIT :limit FOR UPDATE SKIP LOCKED) "
+    + "UPDATE tasks t SET status = " + PENDING + ", claimed_by = NULL, lease_expires_at = NULL, "
+    + "updated_at = :now, version = t.version + 1 "
+    + "FROM expired WHERE t.id = expired.id RETURNING t.*", nativeQuery = true)
+  List<Task> releaseExpiredLeases(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  /**
+   * Releases the leases of tasks whose status was changed through the entity, which cannot write the lease columns.
+   * @return ids of the tasks that held a lease
+   */
+  @Query(value = "UPDATE tasks SET claimed_by = NULL, lease_expires_at = NULL "
+    + "WHERE id IN (:ids) AND lease_expires_at IS NOT NULL RETURNING id", nativeQuery = true)
+  List<Long> releaseLeases(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Replaces the editable fields of one task and returns the updated row from the same statement.
+   * @return the updated task, empty when the task does not exist or belongs to another owner
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "UPDATE tasks SET " + RELEASE_LEASE_ON_STATUS_CHANGE
+    + "title = :title, description = :description, status = :status, priority = :priority, "
+    + "updated_at = :now, version = version + 1 WHERE id = :id AND owner_id = :ownerId RETURNING *", nativeQuery = true)
+  Optional<Task> updateTaskReturning(@Param("id") Long id, @Param("ownerId") Integer ownerId, @Param("title") String title,
+                                     @Param("description") String description, @Param("status") short status,
+                                     @Param("priority") short priority, @Param("now") LocalDateTime now);
 
-  @Query("SELECT t from Task t order by t.id desc")
-  public List<Task> getAllTasks();
+  /**
+   * Replaces the editable fields of one task only if it is still at the expected version.
+   * @param version expected version
+   * @return the updated task, empty when the task does not exist, belongs to another owner or is at another version
+   */
+  @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"))
+  @Query(value = "UPDATE tasks SET " + RELEASE_LEASE_ON_STATUS_CHANGE
+    + "title = :title, description = :description, status = :status, priority = :priority, "
+    + "updated_at = :now, version = version + 1 WHERE id = :id AND owner_id = :ownerId AND version = :version RETURNING *",
+    nativeQuery = true)
+  Optional<Task> updateTaskReturningIfVersion(@Param("id") Long id, @Param("ownerId") Integer ownerId, @Param("title") String title,
+                                              @Param("description") String description, @Param("status") short status,
+                                              @Param("priority") short priority, @Param("now") LocalDateTime now,
+                                              @Param("version") long version);
 }
@@ -0,0 +1,15 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+/**
+ * Id and relevance of a task matching a full-text search.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TaskSearchHit {
+
+  Long getId();
+
+  Float getRank();
+}
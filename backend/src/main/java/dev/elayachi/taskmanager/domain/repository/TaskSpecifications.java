@@ -0,0 +1,65 @@
+package dev.elayachi.taskmanager.domain.repository;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Reusable predicates for task queries.
+ * Each method returns null when its argument is null, so absent filters
+ * are left out of the generated SQL instead of becoming "param is null" checks.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public final class TaskSpecifications {
+
+  private TaskSpecifications() {
+  }
+
+  /**
+   * tasks of one user, the leading column of every listing index
+   * @param ownerId id of the owning user
+   * @return Specification, never null: listings are always scoped by owner
+   */
+  public static Specification<Task> ownedBy(Integer ownerId) {
+    return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+  }
+
+  /**
+   * tasks with an id strictly lower than the cursor (keyset on id desc)
+   * @param after last id of the previous page
+   * @return Specification or null when no cursor is given
+   */
+  public static Specification<Task> idBefore(Long after) {
+    return after == null ? null : (root, query, cb) -> cb.lessThan(root.get("id"), after);
+  }
+
+  public static Specification<Task> hasStatus(Task.TaskStatus status) {
+    return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+  }
+
+  public static Specification<Task> hasPriority(Task.TaskPriority priority) {
+    return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+  }
+
+  /**
+   * tasks whose title or description contains every word, case-insensitive (portable, not index backed)
+   * @param words lower-cased search words
+   * @return Specification or null when no word is given
+   */
+  public static Specification<Task> containsWords(List<String> words) {
+    if (words == null || words.isEmpty()) {
+      return null;
+    }
+    return (root, query, cb) -> cb.and(words.stream()
+      .map(word -> "%" + word + "%")
+      .map(pattern -> cb.or(
+        cb.like(cb.lower(root.<String>get("title")), pattern),
+        cb.like(cb.lower(root.<String>get("description")), pattern)))
+      .toArray(Predicate[]::new));
+  }
+}
@@ -0,0 +1,21 @@
+package dev.elayachi.taskmanager.exception;
+
+/**
+ * Custom exception for when a write conflicts with the current state of a resource,
+ * e.g. the task was changed since the version the client expected.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructor with a simple error message.
+     *
+     * @param message the error message
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
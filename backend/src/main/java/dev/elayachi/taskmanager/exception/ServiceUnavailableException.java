@@ -0,0 +1,22 @@
+package dev.elayachi.taskmanager.exception;
+
+/**
+ * Custom exception for when the server cannot take more work right now.
+ *
+ * The client may retry later.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor with a simple error message.
+     *
+     * @param message the error message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package dev.elayachi.taskmanager.exception;
+
+/**
+ * Custom exception for when a client sends more requests than it is allowed to,
+ * or when the work it asks for is shed because its queue is full.
+ *
+ * The client may retry after the given delay.
+ *
+ * @author Abdelmajid El Ayachi
+ * @version 1.0
+ * @since 1.0
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor with an error message and the delay before retrying.
+     *
+     * @param message the error message
+     * @param retryAfterSeconds seconds the client should wait, sent as the Retry-After header
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
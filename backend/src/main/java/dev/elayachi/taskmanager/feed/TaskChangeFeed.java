@@ -0,0 +1,212 @@
+package dev.elayachi.taskmanager.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.elayachi.taskmanager.domain.dto.response.TaskChangeEvent;
+import dev.elayachi.taskmanager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of committed task changes to Server-Sent Events subscribers, each user only receives the changes of its tasks.
+ *
+ * Each event is serialized once, then offered to a bounded buffer per subscriber of the task owner. Every buffer is drained
+ * by its own virtual thread, so a slow client never blocks the request that published the change.
+ * When a buffer is full its pending events are dropped and replaced by a single RESYNC event.
+ * Idle streams receive a heartbeat comment so proxies keep them open and dead clients are detected.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TaskChangeFeed {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+  private final ObjectWriter eventWriter;
+  private final int bufferSize;
+  private final int maxSubscribers;
+  private final long heartbeatMillis;
+  private final long timeoutMillis;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // subscribers by owner id, publishing only visits the streams of the owner
+  private final Map<Integer, Set<Subscriber>> subscribersByOwner = new ConcurrentHashMap<>();
+  // one cheap virtual thread per subscriber, whatever spring.threads.virtual.enabled is set to
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Counter resyncs;
+
+  public TaskChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${tasks.changes.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.changes.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${tasks.changes.heartbeat:15s}") Duration heartbeat,
+                        @Value("${tasks.changes.timeout:30m}") Duration timeout) {
+    this.eventWriter = objectMapper.writerFor(TaskChangeEvent.class);
+    this.bufferSize = bufferSize;
+    this.maxSubscribers = maxSubscribers;
+    this.heartbeatMillis = heartbeat.toMillis();
+    this.timeoutMillis = timeout.toMillis();
+    Gauge.builder("tasks.changes.subscribers", subscribers, Set::size)
+      .description("Open task change streams")
+      .register(meterRegistry);
+    this.resyncs = Counter.builder("tasks.changes.resyncs")
+      .description("Task change streams whose buffer overflowed and were asked to reload")
+      .register(meterRegistry);
+  }
+
+  /**
+   * opens a change stream, closed by the client, on error or after tasks.changes.timeout
+   * @param ownerId user whose task changes are streamed
+   * @return the SseEmitter to return from the controller
+   * @throws ServiceUnavailableException if tasks.changes.max-subscribers streams are already open
+   */
+  public SseEmitter subscribe(Integer ownerId) {
+    if (subscribers.size() >= maxSubscribers) {
+      throw new ServiceUnavailableException("Too many open change streams, retry later");
+    }
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(ownerId, emitter);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(error -> subscriber.close());
+    subscribers.add(subscriber);
+    // added inside compute, so it cannot race with the removal of an empty set by close()
+    subscribersByOwner.compute(ownerId, (id, ownerSubscribers) -> {
+      Set<Subscriber> added = ownerSubscribers == null ? ConcurrentHashMap.newKeySet() : ownerSubscribers;
+      added.add(subscriber);
+      return added;
+    });
+    senders.execute(subscriber);
+    return emitter;
+  }
+
+  /**
+   * pushes changes to the open streams of the owner, call only once they are committed
+   * @param ownerId user owning the changed tasks
+   * @param events changes in the order they happened
+   */
+  public void publish(Integer ownerId, List<TaskChangeEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    Set<Subscriber> ownerSubscribers = subscribersByOwner.get(ownerId);
+    if (ownerSubscribers == null || ownerSubscribers.isEmpty()) {
+      return;
+    }
+    List<Frame> frames = new ArrayList<>(events.size());
+    for (TaskChangeEvent event : events) {
+      frames.add(toFrame(event));
+    }
+    for (Subscriber subscriber : ownerSubscribers) {
+      subscriber.offer(frames);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    senders.shutdownNow();
+  }
+
+  private Frame toFrame(TaskChangeEvent event) {
+    try {
+      return new Frame(sequence.incrementAndGet(), event.getType().name(), eventWriter.writeValueAsString(event));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Task change event could not be serialized", e);
+    }
+  }
+
+  /**
+   * serialized event, shared by every subscriber
+   */
+  private record Frame(long id, String name, String data) {
+  }
+
+  private final class Subscriber implements Runnable {
+
+    private final Integer ownerId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(bufferSize);
+    private volatile boolean closed;
+    private volatile Thread sender;
+
+    private Subscriber(Integer ownerId, SseEmitter emitter) {
+      this.ownerId = ownerId;
+      this.emitter = emitter;
+    }
+
+    /**
+     * never blocks: on overflow the pending events are dropped and the client is told to reload
+     */
+    private synchronized void offer(List<Frame> frames) {
+      for (Frame frame : frames) {
+        if (!buffer.offer(frame)) {
+          buffer.clear();
+          buffer.offer(toFrame(TaskChangeEvent.resync()));
+          resyncs.increment();
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      sender = Thread.currentThread();
+      try {
+        // sends the response headers right away
+        emitter.send(SseEmitter.event().comment("connected"));
+        while (!closed) {
+          Frame frame = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+          if (frame == null) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+          } else {
+            emitter.send(SseEmitter.event().id(String.valueOf(frame.id())).name(frame.name()).data(frame.data()));
+          }
+        }
+      } catch (IOException | IllegalStateException e) {
+        // client gone or stream already completed
+        logger.debug("Task change stream closed: {}", e.getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        close();
+      }
+    }
+
+    private void close() {
+      closed = true;
+      subscribers.remove(this);
+      subscribersByOwner.computeIfPresent(ownerId, (id, ownerSubscribers) -> {
+        ownerSubscribers.remove(this);
+        return ownerSubscribers.isEmpty() ? null : ownerSubscribers;
+      });
+      Thread thread = sender;
+      if (thread != null && thread != Thread.currentThread()) {
+        thread.interrupt();
+      }
+    }
+  }
+}
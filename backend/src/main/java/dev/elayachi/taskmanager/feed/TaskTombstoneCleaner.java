@@ -0,0 +1,43 @@
+package dev.elayachi.taskmanager.feed;
+
+import dev.elayachi.taskmanager.domain.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges the tombstones of deleted tasks once they are older than tasks.sync.tombstone-retention.
+ * Delta syncs starting before the retention are answered with a resync instead.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TaskTombstoneCleaner {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskTombstoneCleaner.class);
+
+  private final TaskRepository taskRepository;
+  private final Duration retention;
+
+  public TaskTombstoneCleaner(TaskRepository taskRepository,
+                              @Value("${tasks.sync.tombstone-retention:7d}") Duration retention) {
+    this.taskRepository = taskRepository;
+    this.retention = retention;
+  }
+
+  @Scheduled(fixedDelayString = "${tasks.sync.tombstone-purge-interval:1h}",
+    initialDelayString = "${tasks.sync.tombstone-purge-interval:1h}")
+  @Transactional
+  public void purge() {
+    int purged = taskRepository.deleteTombstonesBefore(LocalDateTime.now().minus(retention));
+    logger.debug("Purged {} task tombstones", purged);
+  }
+}
@@ -0,0 +1,43 @@
+package dev.elayachi.taskmanager.idempotency;
+
+import dev.elayachi.taskmanager.domain.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges the idempotency keys stored in the database once they are older than tasks.idempotency.ttl.
+ * The in-memory store expires its entries by itself.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.idempotency.store", havingValue = "database")
+public class IdempotencyKeyCleaner {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyCleaner.class);
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final Duration ttl;
+
+  public IdempotencyKeyCleaner(IdempotencyRecordRepository idempotencyRecordRepository,
+                               @Value("${tasks.idempotency.ttl:24h}") Duration ttl) {
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.ttl = ttl;
+  }
+
+  @Scheduled(fixedDelayString = "${tasks.idempotency.purge-interval:1h}",
+    initialDelayString = "${tasks.idempotency.purge-interval:1h}")
+  public void purge() {
+    int purged = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    logger.debug("Purged {} idempotency keys", purged);
+  }
+}
@@ -0,0 +1,271 @@
+package dev.elayachi.taskmanager.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.entity.IdempotencyRecord;
+import dev.elayachi.taskmanager.domain.repository.IdempotencyRecordRepository;
+import dev.elayachi.taskmanager.exception.ConflictException;
+import dev.elayachi.taskmanager.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request at most once per Idempotency-Key, later requests with the same key get the stored response.
+ *
+ * Keys are scoped by endpoint and user. Duplicates arriving while the first request is still running wait for it
+ * instead of executing it again. Responses are kept in a bounded in-memory store that expires them after
+ * tasks.idempotency.ttl; with tasks.idempotency.store=database they are also stored in the idempotency_keys
+ * table so every node sees them. Failed requests are not stored, the client can retry them with the same key.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class IdempotencyService {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  // set on responses served from the store
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final long POLL_MILLIS = 50;
+
+  private final ObjectMapper objectMapper;
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final IdempotencyStore store;
+  private final Duration waitTimeout;
+  private final Duration lockTimeout;
+  // completed responses, and the running executions duplicates wait for
+  private final Cache<String, CompletableFuture<StoredResponse>> responses;
+  private final Counter replays;
+
+  public IdempotencyService(ObjectMapper objectMapper, IdempotencyRecordRepository idempotencyRecordRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.idempotency.store:memory}") IdempotencyStore store,
+                            @Value("${tasks.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${tasks.idempotency.max-weight:100000}") long maxWeight,
+                            @Value("${tasks.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                            @Value("${tasks.idempotency.lock-timeout:1m}") Duration lockTimeout) {
+    this.objectMapper = objectMapper;
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.store = store;
+    this.waitTimeout = waitTimeout;
+    this.lockTimeout = lockTimeout;
+    this.responses = Caffeine.newBuilder()
+      .maximumWeight(maxWeight)
+      .weigher((String key, CompletableFuture<StoredResponse> response) ->
+        response.isDone() && !response.isCompletedExceptionally() ? response.join().weight() : 1)
+      .expireAfterWrite(ttl)
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency.responses");
+    this.replays = Counter.builder("idempotency.replays")
+      .description("Requests answered with the stored response of their Idempotency-Key")
+      .register(meterRegistry);
+  }
+
+  /**
+   * runs the action once per key, or returns the response stored for the key
+   * @param idempotencyKey Idempotency-Key header, null runs the action without storing anything
+   * @param scope endpoint the key belongs to, e.g. "POST /api/v1/tasks"
+   * @param request request body, a key reused with another body is rejected
+   * @param bodyType type of the response body, to read it back from the database
+   * @param action the request to execute
+   * @return the response of the action, or the stored one with the Idempotent-Replayed header
+   * @throws ValidationException if the key is invalid or was used for another request body
+   * @throws ConflictException if the first request with this key is still running after tasks.idempotency.wait-timeout
+   */
+  public <T> ResponseEntity<T> execute(String idempotencyKey, String scope, Object request, Class<T> bodyType,
+                                       Supplier<ResponseEntity<T>> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new ValidationException(String.format("%s must be 1 to %d characters", IDEMPOTENCY_KEY_HEADER, MAX_KEY_LENGTH));
+    }
+    // hashed so a long username and key still fit the idempotency_keys column
+    String key = sha256((scope + ":" + currentUsername() + ":" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    String fingerprint = fingerprint(request);
+
+    CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+    CompletableFuture<StoredResponse> previous = responses.asMap().putIfAbsent(key, execution);
+    if (previous != null) {
+      // same key on this node: the stored response, or the one of the running execution
+      return replay(await(previous), fingerprint, bodyType);
+    }
+    try {
+      StoredResponse response = store == IdempotencyStore.DATABASE
+        ? executeShared(key, fingerprint, bodyType, action)
+        : run(fingerprint, action);
+      execution.complete(response);
+      // put again so the weigher accounts for the completed response
+      responses.put(key, execution);
+      return response.replayed() ? replay(response, fingerprint, bodyType) : toResponseEntity(response, bodyType);
+    } catch (RuntimeException e) {
+      responses.asMap().remove(key, execution);
+      execution.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * claims the key in the database so only one node executes the request, the others wait for its response
+   */
+  private <T> StoredResponse executeShared(String key, String fingerprint, Class<T> bodyType,
+                                           Supplier<ResponseEntity<T>> action) {
+    LocalDateTime now = LocalDateTime.now();
+    if (idempotencyRecordRepository.claim(key, fingerprint, now, now.minus(lockTimeout)) == 0) {
+      return awaitRecord(key, bodyType);
+    }
+    StoredResponse response;
+    try {
+      response = run(fingerprint, action);
+    } catch (RuntimeException e) {
+      idempotencyRecordRepository.release(key);
+      throw e;
+    }
+    idempotencyRecordRepository.complete(key, response.status(), writeJson(response.body()));
+    return response;
+  }
+
+  private <T> StoredResponse run(String fingerprint, Supplier<ResponseEntity<T>> action) {
+    ResponseEntity<T> response = action.get();
+    T body = response.getBody();
+    int weight = body instanceof BulkResponse bulk && bulk.getResults() != null ? 1 + bulk.getResults().size() : 1;
+    return new StoredResponse(fingerprint, response.getStatusCode().value(), body, weight, false);
+  }
+
+  private StoredResponse await(CompletableFuture<StoredResponse> execution) {
+    try {
+      return execution.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw inProgress();
+    } catch (ExecutionException e) {
+      // the first request failed, its duplicates fail the same way
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw inProgress();
+    }
+  }
+
+  /**
+   * polls the key claimed by another node until its response is stored
+   */
+  private <T> StoredResponse awaitRecord(String key, Class<T> bodyType) {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+    while (true) {
+      Optional<IdempotencyRecord> found = idempotencyRecordRepository.findById(key);
+      if (found.isEmpty()) {
+        // the other node failed and released the key
+        throw inProgress();
+      }
+      IdempotencyRecord record = found.get();
+      if (record.getStatusCode() != null) {
+        T body = readJson(record.getResponseBody(), bodyType);
+        return new StoredResponse(record.getFingerprint(), record.getStatusCode(), body, 1, true);
+      }
+      if (System.nanoTime() >= deadline) {
+        throw inProgress();
+      }
+      try {
+        Thread.sleep(POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw inProgress();
+      }
+    }
+  }
+
+  private <T> ResponseEntity<T> replay(StoredResponse response, String fingerprint, Class<T> bodyType) {
+    if (!response.fingerprint().equals(fingerprint)) {
+      throw new ValidationException(String.format("%s was already used for a different request", IDEMPOTENCY_KEY_HEADER));
+    }
+    replays.increment();
+    return ResponseEntity.status(response.status())
+      .header(REPLAYED_HEADER, "true")
+      .body(bodyType.cast(response.body()));
+  }
+
+  private static <T> ResponseEntity<T> toResponseEntity(StoredResponse response, Class<T> bodyType) {
+    return ResponseEntity.status(response.status()).body(bodyType.cast(response.body()));
+  }
+
+  private static ConflictException inProgress() {
+    return new ConflictException(String.format("A request with the same %s is still in progress, retry later", IDEMPOTENCY_KEY_HEADER));
+  }
+
+  private static String currentUsername() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication == null ? "anonymous" : authentication.getName();
+  }
+
+  /**
+   * SHA-256 of the request serialized as JSON, stable across nodes unlike hashCode()
+   */
+  private String fingerprint(Object request) {
+    try {
+      return sha256(objectMapper.writeValueAsBytes(request));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Request fingerprint could not be computed", e);
+    }
+  }
+
+  /**
+   * hex SHA-256, 64 characters whatever the input
+   */
+  private static String sha256(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private String writeJson(Object body) {
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Idempotent response could not be serialized", e);
+    }
+  }
+
+  private <T> T readJson(String json, Class<T> bodyType) {
+    try {
+      return json == null ? null : objectMapper.readValue(json, bodyType);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Idempotent response could not be read", e);
+    }
+  }
+
+  /**
+   * response stored for a key, weight is its size in the in-memory store
+   */
+  private record StoredResponse(String fingerprint, int status, Object body, int weight, boolean replayed) {
+  }
+}
@@ -0,0 +1,15 @@
+package dev.elayachi.taskmanager.idempotency;
+
+/**
+ * Where the responses of requests sent with an Idempotency-Key are kept.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public enum IdempotencyStore {
+  /** Bounded in-memory store of this node, enough for a single backend node. */
+  MEMORY,
+  /** The idempotency_keys table (V9__idempotency_keys.sql) shared by every node, in front of the in-memory store. */
+  DATABASE
+}
@@ -23,6 +23,12 @@ public interface TaskMapper {
 
   List<TaskResponse> toTasksResponse(List<Task> tasks);
 
+  // generated or set by the service and the database, never taken from the request
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "createdAt", ignore = true)
+  @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "ownerId", ignore = true)
+  @Mapping(target = "version", ignore = true)
   Task toEntity(TaskRequest taskRequest);
 
   @Mapping(target = "statusDisplayName", expression = "java(task.getStatus() != null ? task.getStatus().getDisplayName() : null)")
@@ -0,0 +1,43 @@
+package dev.elayachi.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared by the current request thread.
+ * The count is reset and read by {@link SqlStatementMetricsFilter}; statements are never modified.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+  private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get()[0]++;
+    return sql;
+  }
+
+  /**
+   * starts counting for the current thread
+   */
+  public static void reset() {
+    COUNT.get()[0] = 0;
+  }
+
+  /**
+   * @return statements prepared by the current thread since the last reset
+   */
+  public static int current() {
+    return COUNT.get()[0];
+  }
+
+  /**
+   * releases the counter of the current thread
+   */
+  public static void clear() {
+    COUNT.remove();
+  }
+}
@@ -0,0 +1,98 @@
+package dev.elayachi.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.elayachi.taskmanager.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token buckets limiting the authentication requests per client IP and per username from that IP.
+ * The IP bucket stops a single client from flooding the endpoints, the username bucket slows down
+ * password guessing against one account. It is keyed by username and IP, so an attacker guessing a
+ * password cannot lock its owner out from another address. Buckets of idle keys expire, and their number is bounded.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final Cache<String, TokenBucket> buckets;
+    private final int ipCapacity;
+    private final int ipPerMinute;
+    private final int usernameCapacity;
+    private final int usernamePerMinute;
+    private final Counter rejections;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${auth.rate-limit.ip.per-minute:20}") int ipPerMinute,
+                           @Value("${auth.rate-limit.username.capacity:5}") int usernameCapacity,
+                           @Value("${auth.rate-limit.username.per-minute:5}") int usernamePerMinute,
+                           @Value("${auth.rate-limit.max-keys:100000}") long maxKeys) {
+        this.ipCapacity = ipCapacity;
+        this.ipPerMinute = ipPerMinute;
+        this.usernameCapacity = usernameCapacity;
+        this.usernamePerMinute = usernamePerMinute;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                // a bucket idle this long is full again, dropping it loses nothing
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.rejections = Counter.builder("auth.rate-limit.rejected")
+                .description("Authentication requests rejected by the per-IP or per-username rate limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the bucket of the IP and of the username from that IP.
+     * @param clientIp The remote address of the request.
+     * @param username The username of the request, may be null.
+     * @throws TooManyRequestsException if either bucket is empty.
+     */
+    public void acquire(String clientIp, String username) {
+        long waitNanos = buckets.get("ip:" + clientIp, key -> new TokenBucket(ipCapacity, ipPerMinute)).tryConsume();
+        if (waitNanos == 0 && username != null) {
+            waitNanos = buckets.get("user:" + username.toLowerCase(Locale.ROOT) + "@" + clientIp,
+                    key -> new TokenBucket(usernameCapacity, usernamePerMinute)).tryConsume();
+        }
+        if (waitNanos > 0) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many authentication attempts, retry later",
+                    Math.max(1, Duration.ofNanos(waitNanos).toSeconds()));
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(int capacity, int perMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) perMinute / NANOS_PER_MINUTE;
+            this.tokens = capacity;
+        }
+
+        /**
+         * @return 0 when a token was taken, otherwise the nanoseconds until the next token
+         */
+        private synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dev.elayachi.taskmanager.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * User built from the token claims in stateless mode, carrying the user id of the token.
+ */
+public class AuthenticatedUser extends User implements UserIdentity {
+
+    private final int id;
+
+    public AuthenticatedUser(int id, String username, boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+        super(username, "", enabled, true, true, true, authorities); // the password is never used, the request is authenticated by the token
+        this.id = id;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+package dev.elayachi.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL based cache of loaded users used when {@code jwt.user-lookup} is {@code cache}.
+ * Entries can be evicted explicitly when a user changes or must be revoked.
+ */
+@Component
+public class CaffeineUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> users;
+
+    public CaffeineUserCache(@Value("${jwt.user-cache.ttl:5m}") Duration ttl,
+                             @Value("${jwt.user-cache.max-size:10000}") long maxSize,
+                             MeterRegistry meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "jwt.user-cache");
+    }
+
+    /**
+     * Returns the cached user or null when absent or expired.
+     * @param username The username used as cache key.
+     * @return The cached UserDetails, or null.
+     */
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(username);
+    }
+
+    /**
+     * Stores a loaded user.
+     * @param user The UserDetails to cache.
+     */
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    /**
+     * Evicts one user, e.g. after it was updated, disabled or deleted.
+     * @param username The username to evict.
+     */
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    /**
+     * Evicts every cached user.
+     */
+    public void removeAllUsersFromCache() {
+        users.invalidateAll();
+    }
+}
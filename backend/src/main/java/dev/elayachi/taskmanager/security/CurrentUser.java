@@ -0,0 +1,40 @@
+package dev.elayachi.taskmanager.security;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Access to the user of the current request.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * Reads the user id from the authenticated principal, no database access.
+     * @return The id of the authenticated user.
+     * @throws AccessDeniedException if the request is not authenticated by a user.
+     */
+    public static int getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserIdentity user) {
+            return user.getId();
+        }
+        throw new AccessDeniedException("No authenticated user");
+    }
+
+    /**
+     * Reads the username of the authenticated principal.
+     * @return The username of the authenticated user.
+     * @throws AccessDeniedException if the request is not authenticated.
+     */
+    public static String getUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        throw new AccessDeniedException("No authenticated user");
+    }
+}
@@ -1,11 +1,15 @@
 package dev.elayachi.taskmanager.security;
 
 import dev.elayachi.taskmanager.security.UserService;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,6 +34,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserService userService; // Service to load user details by username
 
+    @Autowired
+    private CaffeineUserCache userCache; // Cache of loaded users, used in CACHE mode
+
+    @Value("${jwt.user-lookup:database}")
+    private UserLookupMode userLookupMode; // How the user of a request is resolved
+
+    private CachingUserDetailsService cachingUserService;
+
+    @PostConstruct
+    void init() {
+        cachingUserService = new CachingUserDetailsService(userService);
+        cachingUserService.setUserCache(userCache);
+    }
+
     /**
      * Performs the actual filtering logic.
      * @param request The current HTTP request.
@@ -41,21 +59,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization"); // Get the Authorization header
-        String token = null;
+        Claims claims = null;
         String username = null;
 
         // Check if the Authorization header exists and starts with "Bearer "
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7); // Extract the token (remove "Bearer " prefix)
-            username = jwtService.extractUsername(token); // Extract the username from the token
+            String token = authHeader.substring(7); // Extract the token (remove "Bearer " prefix)
+            claims = jwtService.parseToken(token); // Verify the token once (cached) and keep its claims
+            username = claims.getSubject(); // Extract the username from the token
         }
 
         // If username is extracted and no authentication is currently set in the SecurityContext
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username); // Load UserDetails by username
+            UserDetails userDetails = resolveUser(claims, username); // Resolve UserDetails from the token, the cache or the database
 
-            // Validate the token against the loaded UserDetails
-            if (jwtService.validateToken(token, userDetails)) {
+            // Validate the token against the resolved UserDetails
+            if (userDetails.isEnabled() && jwtService.isTokenValid(claims, userDetails)) {
                 // Create an authentication token if validation succeeds
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 // Set additional details for the authentication token (e.g., remote address, session ID)
@@ -68,4 +87,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Continue with the filter chain (pass the request to the next filter or servlet)
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolves the user of the request according to the configured lookup mode.
+     * Tokens issued before authorities were embedded fall back to a database lookup.
+     * @param claims The verified token claims.
+     * @param username The subject of the token.
+     * @return The UserDetails of the request.
+     */
+    private UserDetails resolveUser(Claims claims, String username) {
+        if (userLookupMode == UserLookupMode.STATELESS) {
+            UserDetails userDetails = jwtService.toUserDetails(claims);
+            if (userDetails != null) {
+                return userDetails;
+            }
+        } else if (userLookupMode == UserLookupMode.CACHE) {
+            return cachingUserService.loadUserByUsername(username);
+        }
+        return userService.loadUserByUsername(username);
+    }
 }
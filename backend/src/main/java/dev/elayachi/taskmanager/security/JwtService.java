@@ -1,26 +1,88 @@
 package dev.elayachi.taskmanager.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtService {
 
+    // Claims that let the filter authenticate a request without loading the user
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     public String SECRET;
 
+    // Maximum number of verified tokens kept in memory
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Key signKey;
+    private JwtParser jwtParser;
+    // Verified claims keyed by the SHA-256 of the token, each entry expires with its token
+    private Cache<String, Claims> verifiedTokens;
+    // Time spent resolving a token, cache hits included
+    private Timer parseTimer;
+    // Time spent verifying signatures on cache misses
+    private Timer verifyTimer;
+
+    /**
+     * Decodes the secret once and builds the immutable, thread-safe parser and the verified token cache.
+     */
+    @PostConstruct
+    void init() {
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signKey) // Set the signing key for verification
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("JWT resolution, verified token cache hits included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification on verified token cache misses")
+                .register(meterRegistry);
+    }
+
     /**
      * Generates a JWT token for the given username.
      * @param userName The username to include in the token.
@@ -31,6 +93,24 @@ public class JwtService {
         return createToken(claims, userName);
     }
 
+    /**
+     * Generates a JWT token carrying the user's id, authorities and enabled flag,
+     * so requests can be authenticated from the token alone.
+     * @param userDetails The authenticated user.
+     * @return The generated JWT token string.
+     */
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+        if (userDetails instanceof UserIdentity user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+        }
+        return createToken(claims, userDetails.getUsername());
+    }
+
     /**
      * Creates the JWT token with specified claims, subject (username), issuance date, and expiration date.
      * Signs the token using the secret key and HS256 algorithm.
@@ -44,17 +124,34 @@ public class JwtService {
                 .setSubject(userName) // Set the subject (username)
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Set the token issuance time
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30)) // Token valid for 30 minutes (30 * 60 * 1000 milliseconds)
-                .signWith(getSignKey(), SignatureAlgorithm.HS256) // Sign the token with the secret key and algorithm
+                .signWith(signKey, SignatureAlgorithm.HS256) // Sign the token with the secret key and algorithm
                 .compact(); // Build and compact the token
     }
 
     /**
-     * Decodes the base64 secret key and returns it as a Key object.
-     * @return The Key object derived from the secret.
+     * Parses and verifies the token once and returns its claims.
+     * Tokens already verified within their lifetime are served from the cache without any crypto.
+     * @param token The JWT token string.
+     * @return The verified Claims of the token.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired.
      */
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Claims parseToken(String token) {
+        return parseTimer.record(() -> resolveClaims(token));
+    }
+
+    /**
+     * Serves the claims from the verified token cache, verifying the token on a miss.
+     * @param token The JWT token string.
+     * @return The verified Claims of the token.
+     */
+    private Claims resolveClaims(String token) {
+        String key = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = verifyTimer.record(() -> extractAllClaims(token));
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
     }
 
     /**
@@ -83,7 +180,7 @@ public class JwtService {
      * @return The extracted claim value.
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
@@ -94,23 +191,11 @@ public class JwtService {
      * @return The Claims object containing all claims.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignKey()) // Set the signing key for verification
-                .build()
+        return jwtParser
                 .parseClaimsJws(token) // Parse the token and verify its JSON Web Signature (JWS)
                 .getBody(); // Get the claims body
     }
 
-    /**
-     * Checks if the JWT token has expired.
-     * @param token The JWT token string.
-     * @return True if the token is expired, false otherwise.
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     /**
      * Validates the JWT token against the provided UserDetails.
      * Checks if the username in the token matches the UserDetails username and if the token is not expired.
@@ -119,7 +204,71 @@ public class JwtService {
      * @return True if the token is valid, false otherwise.
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    /**
+     * Validates already verified claims against the provided UserDetails.
+     * @param claims The claims returned by {@link #parseToken(String)}.
+     * @param userDetails The UserDetails object to validate against.
+     * @return True if the subject matches and the token is not expired, false otherwise.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
+    }
+
+    /**
+     * Builds the user described by verified claims without touching the database.
+     * @param claims The claims returned by {@link #parseToken(String)}.
+     * @return The UserDetails, or null when the token does not carry the user id, authorities and enabled claims.
+     */
+    public UserDetails toUserDetails(Claims claims) {
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        Boolean enabled = claims.get(ENABLED_CLAIM, Boolean.class);
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        if (authorities == null || enabled == null || userId == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), enabled,
+                AuthorityUtils.createAuthorityList(authorities.stream().map(String::valueOf).toList()));
+    }
+
+    /**
+     * Hashes the token so raw tokens are never kept in memory as cache keys.
+     * @param token The JWT token string.
+     * @return The hex encoded SHA-256 of the token.
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cached entry exactly when its token expires.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return 0; // tokens without expiration are never cached
+            }
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
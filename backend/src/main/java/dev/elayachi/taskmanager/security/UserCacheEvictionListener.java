@@ -0,0 +1,43 @@
+package dev.elayachi.taskmanager.security;
+
+import dev.elayachi.taskmanager.domain.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener of {@link User} evicting it from {@link CaffeineUserCache} when it is updated or deleted,
+ * so disabling a user or changing its authorities applies to its next request in cache mode.
+ * Hibernate gets it from the Spring context while the EntityManagerFactory is built, so it only depends
+ * on the cache and not on UserService (whose repository needs that factory).
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    @Autowired
+    private CaffeineUserCache userCache; // Cache of loaded users, used in CACHE mode
+
+    /**
+     * Evicts the user once the change is committed, a request reloading it before the commit
+     * would otherwise cache the old row again.
+     * @param user The updated or deleted user.
+     */
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        String username = user.getUsername();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userCache.removeUserFromCache(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.removeUserFromCache(username);
+            }
+        });
+    }
+}
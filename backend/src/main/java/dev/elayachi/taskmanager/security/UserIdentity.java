@@ -0,0 +1,13 @@
+package dev.elayachi.taskmanager.security;
+
+/**
+ * Authenticated principal that knows the id of its user, so the owner of a request is resolved
+ * from the SecurityContext without loading the user.
+ */
+public interface UserIdentity {
+
+    /**
+     * @return The id of the user in the users table.
+     */
+    int getId();
+}
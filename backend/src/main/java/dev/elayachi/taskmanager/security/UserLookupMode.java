@@ -0,0 +1,13 @@
+package dev.elayachi.taskmanager.security;
+
+/**
+ * How {@link JwtAuthFilter} resolves the user of an authenticated request.
+ */
+public enum UserLookupMode {
+    /** Build the user from the token claims, no database access. Disabled or deleted users keep access until their token expires. */
+    STATELESS,
+    /** Load the user through {@link CaffeineUserCache}, hitting the database only on a miss. */
+    CACHE,
+    /** Load the user from the database on every request, the default. */
+    DATABASE
+}
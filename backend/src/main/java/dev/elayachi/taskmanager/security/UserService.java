@@ -1,13 +1,17 @@
 package dev.elayachi.taskmanager.security;
 
+import dev.elayachi.taskmanager.domain.converter.AuthoritiesConverter;
 import dev.elayachi.taskmanager.domain.dto.request.RegisterRequest;
 import dev.elayachi.taskmanager.domain.entity.User;
 import dev.elayachi.taskmanager.domain.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,6 +20,15 @@ public class UserService implements UserDetailsService {
     @Autowired
     private UserRepository userRepo; // Corrected injection from UserRepository to UserRepo
 
+    @Autowired
+    private CaffeineUserCache userCache; // Cache of loaded users, evicted whenever a user changes
+
+    @Autowired
+    private MeterRegistry meterRegistry; // Records the BCrypt hashing time
+
+    @Autowired
+    private PasswordEncoder passwordEncoder; // Shared BCrypt encoder, strength set by auth.password.bcrypt-strength
+
     /**
      * Loads user-specific data by username. This method is called by Spring Security
      * during the authentication process.
@@ -24,6 +37,7 @@ public class UserService implements UserDetailsService {
      * @throws UsernameNotFoundException if the user is not found in the database.
      */
     @Override
+    @Timed(value = "auth.user.load", histogram = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // Retrieves user details by username from the database
         // It's crucial to throw UsernameNotFoundException if the user is not found,
@@ -33,19 +47,35 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Creates a new user in the system.
+     * Creates a new user in the system. BCrypt is slow, call it from the {@link PasswordHashingExecutor}.
      * @param registerRequest The registration request containing username, password, and name.
      */
     public void create(RegisterRequest registerRequest) {
+        // BCrypt is deliberately slow, its cost is tracked separately from the rest of the registration
+        String encodedPassword = Timer.builder("auth.password.hash")
+                .description("BCrypt password hashing")
+                .register(meterRegistry)
+                .record(() -> passwordEncoder.encode(registerRequest.getPassword()));
         User user = User.builder()
                 .username(registerRequest.getUsername())
-                .password(new BCryptPasswordEncoder().encode(registerRequest.getPassword())) // Encrypts the password
+                .password(encodedPassword) // Encrypted password
                 .name(registerRequest.getName())
                 .enabled(true)
-                .authorities("student") // Assigns default authority (e.g., "student" or "user")
+                .authorities(AuthoritiesConverter.parse("student")) // Assigns default authority (e.g., "student" or "user")
                 .build();
 
         // Saves the new user to the database
         userRepo.save(user);
     }
+
+    /**
+     * Evicts a user from the user cache so the next request reloads it.
+     * Updates and deletes made through JPA call it after commit ({@link UserCacheEvictionListener}),
+     * changes made directly in the database must call it or wait for jwt.user-cache.ttl.
+     * Tokens already issued keep their embedded claims until they expire, which only matters in stateless mode.
+     * @param username The username to evict.
+     */
+    public void evictUser(String username) {
+        userCache.removeUserFromCache(username);
+    }
 }
@@ -0,0 +1,61 @@
+package dev.elayachi.taskmanager.service;
+
+import dev.elayachi.taskmanager.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Task fields a list request can select with {@code ?fields=}, named like the Task attributes and the JSON properties.
+ * The id is always returned, it keys the tasks and is the cursor of the pages.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public enum TaskField {
+  ID("id"),
+  TITLE("title"),
+  DESCRIPTION("description"),
+  STATUS("status"),
+  PRIORITY("priority"),
+  CREATED_AT("createdAt"),
+  UPDATED_AT("updatedAt"),
+  VERSION("version");
+
+  private final String attribute;
+
+  TaskField(String attribute) {
+    this.attribute = attribute;
+  }
+
+  public String getAttribute() {
+    return attribute;
+  }
+
+  /**
+   * fields selected by the request, the id included
+   * @param names field names, e.g. ["title", "status"]
+   * @return Set of fields in declaration order
+   * @throws ValidationException if a name is unknown
+   */
+  public static Set<TaskField> parse(Collection<String> names) {
+    Set<TaskField> fields = EnumSet.of(ID);
+    for (String name : names) {
+      fields.add(fromAttribute(name.trim()));
+    }
+    return fields;
+  }
+
+  private static TaskField fromAttribute(String name) {
+    for (TaskField field : values()) {
+      if (field.attribute.equals(name)) {
+        return field;
+      }
+    }
+    throw new ValidationException(String.format("Unknown field '%s', expected one of %s",
+      name, Arrays.stream(values()).map(TaskField::getAttribute).toList()));
+  }
+}
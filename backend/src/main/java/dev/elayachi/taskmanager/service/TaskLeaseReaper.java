@@ -0,0 +1,45 @@
+package dev.elayachi.taskmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts back to PENDING the claimed tasks whose lease expired, e.g. their worker crashed.
+ * Each batch is its own short transaction on the lease index, so a run costs the number of
+ * expired leases and never scans tasks.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TaskLeaseReaper {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskLeaseReaper.class);
+
+  private final TaskService taskService;
+  private final int batchSize;
+
+  public TaskLeaseReaper(TaskService taskService,
+                         @Value("${tasks.claims.reaper-batch-size:500}") int batchSize) {
+    this.taskService = taskService;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${tasks.claims.reaper-interval:30s}",
+    initialDelayString = "${tasks.claims.reaper-interval:30s}")
+  public void reap() {
+    int total = 0;
+    int released;
+    do {
+      released = taskService.releaseExpiredLeases(batchSize);
+      total += released;
+    } while (released == batchSize);
+    if (total > 0) {
+      logger.info("Released {} tasks with an expired lease", total);
+    }
+  }
+}
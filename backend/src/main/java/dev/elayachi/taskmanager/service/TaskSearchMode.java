@@ -0,0 +1,15 @@
+package dev.elayachi.taskmanager.service;
+
+/**
+ * How task search matches the query words.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+public enum TaskSearchMode {
+  /** PostgreSQL full-text search on the indexed search_vector column, results ranked by relevance. */
+  FULL_TEXT,
+  /** Case-insensitive LIKE on title and description, newest first. Portable (H2), but scans the table. */
+  LIKE
+}
@@ -1,9 +1,23 @@
 package dev.elayachi.taskmanager.service;
 
+import dev.elayachi.taskmanager.domain.dto.request.TaskBulkUpdateRequest;
 import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskBoardResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskDeltaResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsPageResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskPageResponse;
 import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskSearchResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskStatsResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interface task methods
@@ -16,6 +30,76 @@ public interface TaskService {
    */
   List<TaskResponse> getAllTasks();
 
+  /**
+   * list of all tasks with only the selected fields, the other columns are not read
+   * @param fields selected fields, the id included
+   * @return List<TaskFieldsResponse>
+   */
+  List<TaskFieldsResponse> getAllTasks(Set<TaskField> fields);
+
+  /**
+   * version of the task list, it changes after every committed write whatever issued it, one primary key lookup
+   * @return opaque version, usable as an ETag of the task list
+   */
+  String getTasksVersion();
+
+  /**
+   * tasks changed and deleted since a point in time, instead of the whole list
+   * @param since nextSince returned by the previous sync
+   * @return TaskDeltaResponse, with resync set when the client must reload every task
+   */
+  TaskDeltaResponse getTaskChanges(LocalDateTime since);
+
+  /**
+   * keyset page of tasks ordered by id desc, optionally filtered
+   * @param after id cursor returned by the previous page, null for the first page
+   * @param limit page size
+   * @param status optional status filter
+   * @param priority optional priority filter
+   * @return TaskPageResponse with the next cursor
+   */
+  TaskPageResponse getTasksPage(Long after, int limit, Task.TaskStatus status, Task.TaskPriority priority);
+
+  /**
+   * keyset page of tasks with only the selected fields, the other columns are not read
+   * @param fields selected fields, the id included
+   * @return TaskFieldsPageResponse with the next cursor
+   */
+  TaskFieldsPageResponse getTasksPage(Long after, int limit, Task.TaskStatus status, Task.TaskPriority priority,
+                                      Set<TaskField> fields);
+
+  /**
+   * page of tasks whose title or description match every word of the query, words are matched as prefixes
+   * @param query free text, split into words
+   * @param after cursor returned by the previous page, null for the first page
+   * @param limit page size
+   * @return TaskSearchResponse with the next cursor
+   */
+  TaskSearchResponse searchTasks(String query, String after, int limit);
+
+  /**
+   * newest tasks of every status with the total of each status, for a kanban board
+   * @param perColumn maximum number of tasks per status
+   * @return TaskBoardResponse with one column per status
+   */
+  TaskBoardResponse getBoard(int perColumn);
+
+  /**
+   * task counts by status and priority, and tasks created and completed per day,
+   * read from trigger maintained counters instead of the tasks table
+   * @param days number of days, today included, covered by the daily counts
+   * @return TaskStatsResponse
+   */
+  TaskStatsResponse getTaskStats(int days);
+
+  /**
+   * write every task to the output stream without loading the table in memory
+   * @param format output format (NDJSON or CSV)
+   * @param outputStream destination stream, left open
+   * @throws IOException if writing to the stream fails
+   */
+  void exportTasks(TaskExportFormat format, OutputStream outputStream) throws IOException;
+
   /**
    * create a task method
    * @param taskRequest task request dto
@@ -34,9 +118,10 @@ public interface TaskService {
    * update the task details
    * @param taskRequest updated task details
    * @param id updated task id
+   * @param expectedVersion version the client last saw, null to update whatever the current version
    * @return TaskResponse
    */
-  TaskResponse updateTask(Long id, TaskRequest taskRequest);
+  TaskResponse updateTask(Long id, TaskRequest taskRequest, Long expectedVersion);
 
   /**
    * Deletes a task by ID
@@ -48,7 +133,70 @@ public interface TaskService {
    * update the task status by id
    * @param id task id
    * @param status task status (TASKStatus)
+   * @param expectedVersion version the client last saw, null to update whatever the current version
    * @return TaskResponse
    */
-    TaskResponse updateTaskStatus(Long id, String status);
+    TaskResponse updateTaskStatus(Long id, String status, Long expectedVersion);
+
+  /**
+   * update the task status by id without reading the task back
+   * @param id task id
+   * @param status task status (TASKStatus)
+   */
+  void changeTaskStatus(Long id, String status);
+
+  /**
+   * update the status of many tasks with a single statement
+   * @param ids task ids
+   * @param status task status (TASKStatus)
+   * @return BulkResponse with one result per id (200 or 404)
+   */
+  BulkResponse updateTasksStatus(List<Long> ids, String status);
+
+  /**
+   * create many tasks in one transaction, inserts are sent as JDBC batches
+   * @param taskRequests tasks to create
+   * @return BulkResponse with one result per item (201 or 400)
+   */
+  BulkResponse createTasks(List<TaskRequest> taskRequests);
+
+  /**
+   * partially update many tasks in one transaction, retried on concurrent modification
+   * @param updates items holding the task id, the fields to change and optionally the expected version
+   * @return BulkResponse with one result per item (200, 400, 404 or 409)
+   */
+  BulkResponse updateTasks(List<TaskBulkUpdateRequest> updates);
+
+  /**
+   * delete many tasks with a single statement
+   * @param ids task identifiers
+   * @return BulkResponse with one result per item (204 or 404)
+   */
+  BulkResponse deleteTasks(List<Long> ids);
+
+  /**
+   * claim the next pending tasks for a worker, highest priority then oldest first, and mark them in progress.
+   * Concurrent claims never return the same task. The worker holds them for tasks.claims.lease-duration,
+   * extended by its heartbeats, after which they go back to pending
+   * @param limit maximum number of tasks to claim (1..100)
+   * @param worker worker id, null for the authenticated username
+   * @return the claimed tasks in claim order, empty when no task is pending
+   */
+  List<TaskResponse> claimTasks(int limit, String worker);
+
+  /**
+   * extend the lease of a claimed task by tasks.claims.lease-duration from now
+   * @param id task id
+   * @param worker worker id given when claiming, null for the authenticated username
+   * @throws ResourceNotFoundException if the task is not found
+   * @throws ConflictException if the task is no longer claimed by the worker (lease expired, status changed)
+   */
+  void heartbeat(Long id, String worker);
+
+  /**
+   * put back to pending one batch of in progress tasks whose lease expired, of every user
+   * @param batchSize maximum number of tasks to release
+   * @return number of released tasks, below batchSize once no expired lease is left
+   */
+  int releaseExpiredLeases(int batchSize);
 }
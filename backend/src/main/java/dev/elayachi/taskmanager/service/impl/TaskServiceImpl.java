@@ -1,87 +1,920 @@
 package dev.elayachi.taskmanager.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import dev.elayachi.taskmanager.domain.dto.request.TaskBulkUpdateRequest;
 import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.BulkItemResult;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskBoardResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskChangeEvent;
+import dev.elayachi.taskmanager.domain.dto.response.TaskDeltaResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsPageResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskFieldsResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskPageResponse;
 import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskSearchResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskStatsResponse;
 import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.repository.TaskCount;
+import dev.elayachi.taskmanager.domain.repository.TaskDailyCount;
 import dev.elayachi.taskmanager.domain.repository.TaskRepository;
+import dev.elayachi.taskmanager.domain.repository.TaskSearchHit;
+import dev.elayachi.taskmanager.exception.ConflictException;
 import dev.elayachi.taskmanager.exception.ResourceNotFoundException;
+import dev.elayachi.taskmanager.exception.ValidationException;
+import dev.elayachi.taskmanager.feed.TaskChangeFeed;
 import dev.elayachi.taskmanager.mapper.TaskMapper;
+import dev.elayachi.taskmanager.security.CurrentUser;
+import dev.elayachi.taskmanager.service.TaskExportFormat;
+import dev.elayachi.taskmanager.service.TaskField;
+import dev.elayachi.taskmanager.service.TaskSearchMode;
 import dev.elayachi.taskmanager.service.TaskService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static dev.elayachi.taskmanager.domain.repository.TaskSpecifications.containsWords;
+import static dev.elayachi.taskmanager.domain.repository.TaskSpecifications.hasPriority;
+import static dev.elayachi.taskmanager.domain.repository.TaskSpecifications.hasStatus;
+import static dev.elayachi.taskmanager.domain.repository.TaskSpecifications.idBefore;
+import static dev.elayachi.taskmanager.domain.repository.TaskSpecifications.ownedBy;
 
 /**
- * task business logic
+ * task business logic, every public method is timed as task.service tagged with its method name.
+ * Tasks belong to the authenticated user: every read and write is scoped by its id, taken from the SecurityContext
  */
 
 @Service
+@Timed(value = "task.service", histogram = true)
 public class TaskServiceImpl implements TaskService {
 
+  public static final int MAX_PAGE_SIZE = 100;
+  public static final int MAX_BULK_SIZE = 1000;
+  public static final int MAX_SEARCH_WORDS = 10;
+  public static final int MAX_STATS_DAYS = 366;
+  public static final int MAX_DELTA_SIZE = 1000;
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
+  private static final int MAX_WORKER_LENGTH = 255;
+  // order of TaskRepository.claimPendingTasks: highest priority, then oldest
+  private static final Comparator<Task> CLAIM_ORDER = Comparator.comparing(Task::getPriority).reversed()
+    .thenComparing(Task::getCreatedAt)
+    .thenComparing(Task::getId);
+  private static final int EXPORT_FLUSH_INTERVAL = 500;
+  private static final String CSV_HEADER = "id,title,description,status,priority,createdAt,updatedAt";
+  // anything that is not a letter or a digit separates words, so no tsquery or LIKE syntax reaches the database
+  private static final Pattern SEARCH_WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final String SEARCH_CURSOR_SEPARATOR = ":";
+
   private final TaskRepository taskRepository;
   private final TaskMapper taskMapper;
+  private final EntityManager entityManager;
+  private final ObjectWriter exportWriter;
+  private final Validator validator;
+  private final TaskSearchMode searchMode;
+  private final TaskChangeFeed taskChangeFeed;
+  private final Duration syncOverlap;
+  private final Duration tombstoneRetention;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration leaseDuration;
 
   @Autowired
-  public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper) {
+  public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper,
+                         EntityManager entityManager, ObjectMapper objectMapper, Validator validator,
+                         @Value("${tasks.search.mode:full-text}") TaskSearchMode searchMode,
+                         TaskChangeFeed taskChangeFeed,
+                         @Value("${tasks.sync.overlap:30s}") Duration syncOverlap,
+                         @Value("${tasks.sync.tombstone-retention:7d}") Duration tombstoneRetention,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${tasks.claims.lease-duration:5m}") Duration leaseDuration) {
     this.taskRepository = taskRepository;
     this.taskMapper = taskMapper;
+    this.entityManager = entityManager;
+    this.validator = validator;
+    this.searchMode = searchMode;
+    this.taskChangeFeed = taskChangeFeed;
+    this.syncOverlap = syncOverlap;
+    this.tombstoneRetention = tombstoneRetention;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.leaseDuration = leaseDuration;
+    this.exportWriter = objectMapper.writerFor(TaskResponse.class)
+      .withRootValueSeparator("\n")
+      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   @Override
   public List<TaskResponse> getAllTasks() {
-    return taskMapper.toTasksResponse(taskRepository.getAllTasks());
+    return taskMapper.toTasksResponse(taskRepository.getAllTasks(CurrentUser.getId()));
+  }
+
+  @Override
+  public List<TaskFieldsResponse> getAllTasks(Set<TaskField> fields) {
+    List<Tuple> rows = taskRepository.findFields(ownedBy(CurrentUser.getId()), attributes(fields), Limit.unlimited());
+    return rows.stream().map(row -> toFieldsResponse(row, fields)).toList();
+  }
+
+  @Override
+  public String getTasksVersion() {
+    Integer ownerId = CurrentUser.getId();
+    return ownerId + "-" + taskRepository.findListVersion(ownerId).orElse(0L);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TaskDeltaResponse getTaskChanges(LocalDateTime since) {
+    LocalDateTime now = LocalDateTime.now();
+    if (since.isBefore(now.minus(tombstoneRetention))) {
+      return new TaskDeltaResponse(List.of(), List.of(), now, true); // older deletions are forgotten
+    }
+    // updatedAt is set before commit, so a write committed late can carry a time before the previous sync
+    LocalDateTime from = since.minus(syncOverlap);
+    Integer ownerId = CurrentUser.getId();
+    List<Task> changed = taskRepository.findUpdatedAfter(ownerId, from, Limit.of(MAX_DELTA_SIZE + 1));
+    List<Long> deleted = taskRepository.findDeletedIdsAfter(ownerId, from, MAX_DELTA_SIZE + 1);
+    if (changed.size() > MAX_DELTA_SIZE || deleted.size() > MAX_DELTA_SIZE) {
+      return new TaskDeltaResponse(List.of(), List.of(), now, true); // reloading is cheaper than a huge delta
+    }
+    return new TaskDeltaResponse(taskMapper.toTasksResponse(changed), deleted, now, false);
+  }
+
+  @Override
+  public TaskPageResponse getTasksPage(Long after, int limit, Task.TaskStatus status, Task.TaskPriority priority) {
+    validateLimit(limit);
+    Specification<Task> spec = Specification.allOf(ownedBy(CurrentUser.getId()), idBefore(after), hasStatus(status), hasPriority(priority));
+    // fetch one extra row to know whether another page exists without a count query
+    List<Task> tasks = taskRepository.findBy(spec, query -> query
+      .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+      .limit(limit + 1)
+      .all());
+
+    boolean hasMore = tasks.size() > limit;
+    if (hasMore) {
+      tasks = tasks.subList(0, limit);
+    }
+    Long nextCursor = hasMore ? tasks.get(tasks.size() - 1).getId() : null;
+    return new TaskPageResponse(taskMapper.toTasksResponse(tasks), nextCursor, hasMore);
+  }
+
+  @Override
+  public TaskFieldsPageResponse getTasksPage(Long after, int limit, Task.TaskStatus status, Task.TaskPriority priority,
+                                             Set<TaskField> fields) {
+    validateLimit(limit);
+    Specification<Task> spec = Specification.allOf(ownedBy(CurrentUser.getId()), idBefore(after), hasStatus(status), hasPriority(priority));
+    List<Tuple> rows = taskRepository.findFields(spec, attributes(fields), Limit.of(limit + 1));
+
+    boolean hasMore = rows.size() > limit;
+    if (hasMore) {
+      rows = rows.subList(0, limit);
+    }
+    List<TaskFieldsResponse> items = rows.stream().map(row -> toFieldsResponse(row, fields)).toList();
+    Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+    return new TaskFieldsPageResponse(items, nextCursor, hasMore);
+  }
+
+  private static List<String> attributes(Set<TaskField> fields) {
+    return fields.stream().map(TaskField::getAttribute).toList();
+  }
+
+  /**
+   * copies the selected columns of a projected row, the unselected fields stay null and are not serialized
+   */
+  private static TaskFieldsResponse toFieldsResponse(Tuple row, Set<TaskField> fields) {
+    TaskFieldsResponse response = new TaskFieldsResponse();
+    response.setId(row.get(TaskField.ID.getAttribute(), Long.class));
+    if (fields.contains(TaskField.TITLE)) {
+      response.setTitle(row.get(TaskField.TITLE.getAttribute(), String.class));
+    }
+    if (fields.contains(TaskField.DESCRIPTION)) {
+      response.setDescription(row.get(TaskField.DESCRIPTION.getAttribute(), String.class));
+    }
+    if (fields.contains(TaskField.STATUS)) {
+      Task.TaskStatus status = row.get(TaskField.STATUS.getAttribute(), Task.TaskStatus.class);
+      response.setStatus(status);
+      response.setStatusDisplayName(status != null ? status.getDisplayName() : null);
+    }
+    if (fields.contains(TaskField.PRIORITY)) {
+      Task.TaskPriority priority = row.get(TaskField.PRIORITY.getAttribute(), Task.TaskPriority.class);
+      response.setPriority(priority);
+      response.setPriorityDisplayName(priority != null ? priority.getDisplayName() : null);
+    }
+    if (fields.contains(TaskField.CREATED_AT)) {
+      response.setCreatedAt(row.get(TaskField.CREATED_AT.getAttribute(), LocalDateTime.class));
+    }
+    if (fields.contains(TaskField.UPDATED_AT)) {
+      response.setUpdatedAt(row.get(TaskField.UPDATED_AT.getAttribute(), LocalDateTime.class));
+    }
+    if (fields.contains(TaskField.VERSION)) {
+      response.setVersion(row.get(TaskField.VERSION.getAttribute(), Long.class));
+    }
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TaskSearchResponse searchTasks(String query, String after, int limit) {
+    validateLimit(limit);
+    List<String> words = searchWords(query);
+    Integer ownerId = CurrentUser.getId();
+    return searchMode == TaskSearchMode.FULL_TEXT ? fullTextSearch(ownerId, words, after, limit) : likeSearch(ownerId, words, after, limit);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TaskBoardResponse getBoard(int perColumn) {
+    validateLimit(perColumn);
+    Integer ownerId = CurrentUser.getId();
+    Map<Task.TaskStatus, List<Task>> tasksByStatus = new EnumMap<>(Task.TaskStatus.class);
+    // one extra task per column to know whether it has more without relying on the counters
+    for (Task task : taskRepository.findBoardTasks(ownerId, perColumn + 1)) {
+      tasksByStatus.computeIfAbsent(task.getStatus(), status -> new ArrayList<>()).add(task);
+    }
+    Map<Task.TaskStatus, Long> totals = new EnumMap<>(Task.TaskStatus.class);
+    for (TaskCount count : taskRepository.countByStatusAndPriority(ownerId)) {
+      totals.merge(Task.TaskStatus.fromCode(count.getStatus()), count.getCount(), Long::sum);
+    }
+
+    List<TaskBoardResponse.Column> columns = new ArrayList<>();
+    for (Task.TaskStatus status : Task.TaskStatus.values()) {
+      List<Task> tasks = tasksByStatus.getOrDefault(status, List.of());
+      boolean hasMore = tasks.size() > perColumn;
+      if (hasMore) {
+        tasks = tasks.subList(0, perColumn);
+      }
+      Long nextCursor = hasMore ? tasks.get(tasks.size() - 1).getId() : null;
+      columns.add(new TaskBoardResponse.Column(status, status.getDisplayName(), taskMapper.toTasksResponse(tasks),
+        totals.getOrDefault(status, 0L), nextCursor, hasMore));
+    }
+    return new TaskBoardResponse(columns);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public TaskStatsResponse getTaskStats(int days) {
+    if (days < 1 || days > MAX_STATS_DAYS) {
+      throw new ValidationException(String.format("Days must be between 1 and %d", MAX_STATS_DAYS));
+    }
+    Map<Task.TaskStatus, Map<Task.TaskPriority, Long>> byStatusAndPriority = new EnumMap<>(Task.TaskStatus.class);
+    Map<Task.TaskStatus, Long> byStatus = new EnumMap<>(Task.TaskStatus.class);
+    Map<Task.TaskPriority, Long> byPriority = new EnumMap<>(Task.TaskPriority.class);
+    for (Task.TaskStatus status : Task.TaskStatus.values()) {
+      Map<Task.TaskPriority, Long> counts = new EnumMap<>(Task.TaskPriority.class);
+      for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+        counts.put(priority, 0L);
+      }
+      byStatusAndPriority.put(status, counts);
+      byStatus.put(status, 0L);
+    }
+    for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+      byPriority.put(priority, 0L);
+    }
+
+    Integer ownerId = CurrentUser.getId();
+    long total = 0;
+    for (TaskCount count : taskRepository.countByStatusAndPriority(ownerId)) {
+      Task.TaskStatus status = Task.TaskStatus.fromCode(count.getStatus());
+      Task.TaskPriority priority = Task.TaskPriority.fromCode(count.getPriority());
+      byStatusAndPriority.get(status).merge(priority, count.getCount(), Long::sum);
+      byStatus.merge(status, count.getCount(), Long::sum);
+      byPriority.merge(priority, count.getCount(), Long::sum);
+      total += count.getCount();
+    }
+
+    // days without activity have no row, they are reported with zeros
+    LocalDate from = LocalDate.now().minusDays(days - 1L);
+    Map<LocalDate, TaskDailyCount> dailyCounts = new HashMap<>();
+    for (TaskDailyCount dailyCount : taskRepository.dailyCountsFrom(ownerId, from)) {
+      dailyCounts.put(dailyCount.getDay().toLocalDate(), dailyCount);
+    }
+    List<TaskStatsResponse.DailyCount> daily = new ArrayList<>(days);
+    for (LocalDate day = from; daily.size() < days; day = day.plusDays(1)) {
+      TaskDailyCount dailyCount = dailyCounts.get(day);
+      daily.add(dailyCount == null ? new TaskStatsResponse.DailyCount(day, 0, 0)
+        : new TaskStatsResponse.DailyCount(day, dailyCount.getCreated(), dailyCount.getCompleted()));
+    }
+    return new TaskStatsResponse(total, byStatus, byPriority, byStatusAndPriority, daily);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportTasks(TaskExportFormat format, OutputStream outputStream) throws IOException {
+    try (Stream<Task> tasks = taskRepository.streamAllTasks(CurrentUser.getId())) {
+      Iterator<Task> iterator = tasks.iterator();
+      if (format == TaskExportFormat.CSV) {
+        writeCsv(iterator, outputStream);
+      } else {
+        writeNdjson(iterator, outputStream);
+      }
+    }
   }
 
   @Override
   public TaskResponse createTask(TaskRequest taskRequest) {
+    Integer ownerId = CurrentUser.getId();
     Task task = taskMapper.toEntity(taskRequest);
+    task.setOwnerId(ownerId);
     Task savedTask = taskRepository.save(task);
-    return taskMapper.toResponse(savedTask);
+    TaskResponse response = taskMapper.toResponse(savedTask);
+    publishAfterCommit(ownerId, List.of(TaskChangeEvent.created(response)));
+    return response;
   }
 
     @Override
     public TaskResponse getTaskById(Long id) {
-      Optional<Task> task = taskRepository.findById(id);
+      Optional<Task> task = findOwnedTask(id, CurrentUser.getId());
       if (task.isPresent()) {
         return taskMapper.toResponse(task.get());
       }
       throw new ResourceNotFoundException(String.format("No task found by id of [%s]", id));
     }
     @Override
-    public TaskResponse updateTask(Long id, TaskRequest taskRequest) {
-      // Check if the task exists
-      Task existingTask = taskRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException(
+    @Transactional
+    public TaskResponse updateTask(Long id, TaskRequest taskRequest, Long expectedVersion) {
+      // single UPDATE ... RETURNING instead of findById + save, the version check is part of the same statement
+      LocalDateTime now = LocalDateTime.now();
+      Integer ownerId = CurrentUser.getId();
+      Optional<Task> updated = expectedVersion == null
+        ? taskRepository.updateTaskReturning(id, ownerId, taskRequest.getTitle(), taskRequest.getDescription(),
+            taskRequest.getStatus().getCode(), taskRequest.getPriority().getCode(), now)
+        : taskRepository.updateTaskReturningIfVersion(id, ownerId, taskRequest.getTitle(), taskRequest.getDescription(),
+            taskRequest.getStatus().getCode(), taskRequest.getPriority().getCode(), now, expectedVersion);
+      Task updatedTask = updated.orElseThrow(() -> notFoundOrConflict(id, ownerId, expectedVersion));
+      lockInCacheUntilCompletion(List.of(id));
+      TaskResponse response = taskMapper.toResponse(updatedTask);
+      publishAfterCommit(ownerId, List.of(TaskChangeEvent.updated(response)));
+      return response;
+    }
+
+  @Override
+  @Transactional
+  public void deleteTask(Long id) {
+    Integer ownerId = CurrentUser.getId();
+    if (taskRepository.deleteTaskById(id, ownerId) == 0) {
+      throw new ResourceNotFoundException(String.format("Task not found with id: %s", id));
+    }
+    publishAfterCommit(ownerId, List.of(TaskChangeEvent.deleted(id)));
+  }
+
+  @Override
+  @Transactional
+  public TaskResponse updateTaskStatus(Long id, String status, Long expectedVersion) {
+    Task.TaskStatus taskStatus = getAndValidateStatus(status);
+    Integer ownerId = CurrentUser.getId();
+    // without an expected version the status is set atomically in one statement, concurrent changes cannot be lost
+    Optional<Task> updated = expectedVersion == null
+      ? taskRepository.updateStatusReturning(id, ownerId, taskStatus.getCode(), LocalDateTime.now())
+      : taskRepository.updateStatusReturningIfVersion(id, ownerId, taskStatus.getCode(), LocalDateTime.now(), expectedVersion);
+    Task updatedTask = updated.orElseThrow(() -> notFoundOrConflict(id, ownerId, expectedVersion));
+    lockInCacheUntilCompletion(List.of(id));
+    TaskResponse response = taskMapper.toResponse(updatedTask);
+    publishAfterCommit(ownerId, List.of(TaskChangeEvent.statusChanged(response)));
+    return response;
+  }
+
+  @Override
+  @Transactional
+  public void changeTaskStatus(Long id, String status) {
+    Task.TaskStatus taskStatus = getAndValidateStatus(status);
+    Integer ownerId = CurrentUser.getId();
+    if (taskRepository.updateStatus(id, ownerId, taskStatus, LocalDateTime.now()) == 0) {
+      throw new ResourceNotFoundException(String.format("Task not found with id: %s", id));
+    }
+    publishAfterCommit(ownerId, List.of(TaskChangeEvent.statusChanged(id, taskStatus)));
+  }
+
+  @Override
+  @Transactional
+  public BulkResponse updateTasksStatus(List<Long> ids, String status) {
+    validateBulkSize(ids);
+    Task.TaskStatus taskStatus = getAndValidateStatus(status);
+    Integer ownerId = CurrentUser.getId();
+    Set<Long> requestedIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    Set<Long> updatedIds = requestedIds.isEmpty() ? Set.of()
+      : new HashSet<>(taskRepository.updateStatusesReturningIds(requestedIds, ownerId, taskStatus.getCode(), LocalDateTime.now()));
+    lockInCacheUntilCompletion(updatedIds);
+    publishAfterCommit(ownerId, updatedIds.stream().map(id -> TaskChangeEvent.statusChanged(id, taskStatus)).toList());
+
+    List<BulkItemResult> results = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      Long id = ids.get(i);
+      if (id == null) {
+        results.add(BulkItemResult.failure(i, null, HttpStatus.BAD_REQUEST.value(), "Id is required"));
+      } else if (updatedIds.contains(id)) {
+        results.add(BulkItemResult.success(i, HttpStatus.OK.value(), id));
+      } else {
+        results.add(BulkItemResult.failure(i, id, HttpStatus.NOT_FOUND.value(),
           String.format("Task not found with id: %s", id)));
+      }
+    }
+    return BulkResponse.of(results);
+  }
+
+  @Override
+  @Transactional
+  public BulkResponse createTasks(List<TaskRequest> taskRequests) {
+    validateBulkSize(taskRequests);
+    Integer ownerId = CurrentUser.getId();
+    BulkItemResult[] results = new BulkItemResult[taskRequests.size()];
+    List<Task> tasks = new ArrayList<>(taskRequests.size());
+    List<Integer> positions = new ArrayList<>(taskRequests.size());
 
-      // Update the existing task fields
-      existingTask.setTitle(taskRequest.getTitle());
-      existingTask.setDescription(taskRequest.getDescription());
-      existingTask.setStatus(taskRequest.getStatus());
-      existingTask.setPriority(taskRequest.getPriority());
+    for (int i = 0; i < taskRequests.size(); i++) {
+      String error = validateItem(taskRequests.get(i));
+      if (error != null) {
+        results[i] = BulkItemResult.failure(i, null, HttpStatus.BAD_REQUEST.value(), error);
+      } else {
+        Task task = taskMapper.toEntity(taskRequests.get(i));
+        task.setOwnerId(ownerId);
+        tasks.add(task);
+        positions.add(i);
+      }
+    }
 
-      // Save the updated task
-      Task updatedTask = taskRepository.save(existingTask);
-      return taskMapper.toResponse(updatedTask);
+    // ids come from the pooled sequence, so the inserts are flushed as JDBC batches
+    List<Task> savedTasks = taskRepository.saveAll(tasks);
+    taskRepository.flush();
+    List<TaskChangeEvent> events = new ArrayList<>(savedTasks.size());
+    for (int j = 0; j < savedTasks.size(); j++) {
+      int index = positions.get(j);
+      TaskResponse response = taskMapper.toResponse(savedTasks.get(j));
+      results[index] = BulkItemResult.success(index, HttpStatus.CREATED.value(), response);
+      events.add(TaskChangeEvent.created(response));
     }
+    publishAfterCommit(ownerId, events);
+    return BulkResponse.of(Arrays.asList(results));
+  }
 
   @Override
-  public void deleteTask(Long id) {
-    Task task = taskRepository.findById(id)
-      .orElseThrow(() -> new ResourceNotFoundException(
-        String.format("Task not found with id: %s", id)));
-    taskRepository.delete(task);
+  public BulkResponse updateTasks(List<TaskBulkUpdateRequest> updates) {
+    validateBulkSize(updates);
+    Integer ownerId = CurrentUser.getId();
+    // items only set the fields they carry, so replaying them on the fresh state after a conflict is safe
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(transaction -> applyUpdates(ownerId, updates));
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= MAX_UPDATE_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * loads the tasks, applies the items and flushes them as batched versioned UPDATEs,
+   * fails with OptimisticLockingFailureException when a task was changed concurrently
+   */
+  private BulkResponse applyUpdates(Integer ownerId, List<TaskBulkUpdateRequest> updates) {
+    BulkItemResult[] results = new BulkItemResult[updates.size()];
+    // tasks of other users are reported as not found
+    Map<Long, Task> tasksById = taskRepository.findAllById(updates.stream()
+        .filter(update -> update != null && update.getId() != null)
+        .map(TaskBulkUpdateRequest::getId)
+        .collect(Collectors.toSet()))
+      .stream()
+      .filter(task -> ownerId.equals(task.getOwnerId()))
+      .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+    List<Integer> updated = new ArrayList<>(updates.size());
+    List<Long> statusChanged = new ArrayList<>();
+    for (int i = 0; i < updates.size(); i++) {
+      TaskBulkUpdateRequest update = updates.get(i);
+      String error = validateItem(update);
+      if (error != null) {
+        results[i] = BulkItemResult.failure(i, update == null ? null : update.getId(), HttpStatus.BAD_REQUEST.value(), error);
+        continue;
+      }
+      Task task = tasksById.get(update.getId());
+      if (task == null) {
+        results[i] = BulkItemResult.failure(i, update.getId(), HttpStatus.NOT_FOUND.value(),
+          String.format("Task not found with id: %s", update.getId()));
+        continue;
+      }
+      if (update.getVersion() != null && !update.getVersion().equals(task.getVersion())) {
+        results[i] = BulkItemResult.failure(i, update.getId(), HttpStatus.CONFLICT.value(),
+          versionConflictMessage(update.getId(), update.getVersion(), task.getVersion()));
+        continue;
+      }
+      Task.TaskStatus previousStatus = task.getStatus();
+      applyUpdate(task, update);
+      if (task.getStatus() != previousStatus) {
+        statusChanged.add(task.getId());
+      }
+      updated.add(i);
+    }
+
+    // dirty entities are written as batched UPDATEs on flush
+    taskRepository.flush();
+    if (!statusChanged.isEmpty()) {
+      lockInCacheUntilCompletion(taskRepository.releaseLeases(statusChanged));
+    }
+    List<TaskChangeEvent> events = new ArrayList<>(updated.size());
+    for (int index : updated) {
+      Task task = tasksById.get(updates.get(index).getId());
+      TaskResponse response = taskMapper.toResponse(task);
+      results[index] = BulkItemResult.success(index, HttpStatus.OK.value(), response);
+      events.add(TaskChangeEvent.updated(response));
+    }
+    publishAfterCommit(ownerId, events);
+    return BulkResponse.of(Arrays.asList(results));
   }
 
   @Override
-  public TaskResponse updateTaskStatus(Long id, String status) {
-    Task.TaskStatus taskStatus = getAndValidateStatus(status);
-    Task task  = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(String.format("Task not found with id: %s", id)));
-    task.setStatus(taskStatus);
-    Task updatedTask = taskRepository.save(task);
-    return taskMapper.toResponse(updatedTask);
+  @Transactional
+  public BulkResponse deleteTasks(List<Long> ids) {
+    validateBulkSize(ids);
+    Integer ownerId = CurrentUser.getId();
+    Set<Long> requestedIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    // one DELETE ... RETURNING, restricted to the tasks of the owner
+    Set<Long> existingIds = requestedIds.isEmpty() ? Set.of()
+      : new HashSet<>(taskRepository.deleteTasksReturningIds(requestedIds, ownerId));
+    lockInCacheUntilCompletion(existingIds);
+    publishAfterCommit(ownerId, existingIds.stream().map(TaskChangeEvent::deleted).toList());
+
+    List<BulkItemResult> results = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      Long id = ids.get(i);
+      if (id == null) {
+        results.add(BulkItemResult.failure(i, null, HttpStatus.BAD_REQUEST.value(), "Id is required"));
+      } else if (existingIds.contains(id)) {
+        results.add(BulkItemResult.success(i, HttpStatus.NO_CONTENT.value(), id));
+      } else {
+        results.add(BulkItemResult.failure(i, id, HttpStatus.NOT_FOUND.value(),
+          String.format("Task not found with id: %s", id)));
+      }
+    }
+    return BulkResponse.of(results);
+  }
+  @Override
+  @Transactional
+  public List<TaskResponse> claimTasks(int limit, String worker) {
+    validateLimit(limit);
+    Integer ownerId = CurrentUser.getId();
+    String claimer = getAndValidateWorker(worker);
+    LocalDateTime now = LocalDateTime.now();
+    List<Task> claimed = new ArrayList<>(taskRepository.claimPendingTasks(ownerId, limit, claimer, now, now.plus(leaseDuration)));
+    // RETURNING has no order, give them back in claim order
+    claimed.sort(CLAIM_ORDER);
+    lockInCacheUntilCompletion(claimed.stream().map(Task::getId).toList());
+    List<TaskResponse> responses = taskMapper.toTasksResponse(claimed);
+    publishAfterCommit(ownerId, responses.stream().map(TaskChangeEvent::statusChanged).toList());
+    return responses;
+  }
+
+  @Override
+  @Transactional
+  public void heartbeat(Long id, String worker) {
+    Integer ownerId = CurrentUser.getId();
+    String claimer = getAndValidateWorker(worker);
+    // one UPDATE on the primary key, no read, no cache eviction and no change event
+    if (taskRepository.extendLease(id, ownerId, claimer, LocalDateTime.now().plus(leaseDuration)).isEmpty()) {
+      if (findOwnedTask(id, ownerId).isEmpty()) {
+        throw new ResourceNotFoundException(String.format("Task not found with id: %s", id));
+      }
+      throw new ConflictException(String.format("Task %s is not claimed by worker %s, its lease expired or its status changed", id, claimer));
+    }
+  }
+
+  @Override
+  @Transactional
+  public int releaseExpiredLeases(int batchSize) {
+    List<Task> released = taskRepository.releaseExpiredLeases(LocalDateTime.now(), batchSize);
+    lockInCacheUntilCompletion(released.stream().map(Task::getId).toList());
+    Map<Integer, List<TaskChangeEvent>> eventsByOwner = new HashMap<>();
+    for (Task task : released) {
+      if (task.getOwnerId() == null) {
+        // legacy task without owner, no one can subscribe to it
+        continue;
+      }
+      eventsByOwner.computeIfAbsent(task.getOwnerId(), owner -> new ArrayList<>())
+        .add(TaskChangeEvent.statusChanged(taskMapper.toResponse(task)));
+    }
+    eventsByOwner.forEach(this::publishAfterCommit);
+    return released.size();
+  }
+
+
+  /**
+   * locks the tasks changed by native statements in the second-level cache until the transaction completes,
+   * together with the query spaces of the cached task lists. Unlike an eviction, the soft locks also turn
+   * away loads that read the previous state before the commit and try to cache it after (Hibernate guards
+   * its own entity updates the same way), so no stale task or list outlives the transaction.
+   */
+  private void lockInCacheUntilCompletion(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+    SessionFactoryImplementor sessionFactory = session.getFactory();
+    EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(Task.class);
+    EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+    Map<Object, SoftLock> locks = new HashMap<>();
+    if (cacheAccess != null) {
+      for (Long id : ids) {
+        Object key = cacheAccess.generateCacheKey(id, persister, sessionFactory, session.getTenantIdentifier());
+        locks.put(key, cacheAccess.lockItem(session, key, null));
+      }
+    }
+    String[] spaces = Arrays.stream(persister.getQuerySpaces()).map(String::valueOf).toArray(String[]::new);
+    TimestampsCache timestampsCache = sessionFactory.getCache().getTimestampsCache();
+    timestampsCache.preInvalidate(spaces, session);
+    // runs on commit and rollback alike, the cache is read again from the database afterwards
+    session.getActionQueue().registerProcess((success, completedSession) -> {
+      locks.forEach((key, lock) -> cacheAccess.unlockItem(completedSession, key, lock));
+      timestampsCache.invalidate(spaces, completedSession);
+    });
+  }
+
+  /**
+   * ranked search on the GIN index, the cursor is "rank:id" of the last hit
+   */
+  private TaskSearchResponse fullTextSearch(Integer ownerId, List<String> words, String after, int limit) {
+    float afterRank = Float.POSITIVE_INFINITY;
+    long afterId = Long.MAX_VALUE;
+    if (after != null) {
+      try {
+        int separator = after.indexOf(SEARCH_CURSOR_SEPARATOR);
+        afterRank = Float.parseFloat(after.substring(0, separator));
+        afterId = Long.parseLong(after.substring(separator + 1));
+      } catch (IndexOutOfBoundsException | NumberFormatException e) {
+        throw new ValidationException(String.format("Invalid search cursor: %s", after));
+      }
+    }
+    String tsQuery = words.stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
+    // fetch one extra hit to know whether another page exists without a count query
+    List<TaskSearchHit> hits = taskRepository.searchIds(ownerId, tsQuery, afterRank, afterId, limit + 1);
+    boolean hasMore = hits.size() > limit;
+    if (hasMore) {
+      hits = hits.subList(0, limit);
+    }
+
+    // tasks come from the second-level cache when present, the misses are read with one IN query, in hit order
+    List<Task> tasks = entityManager.unwrap(Session.class)
+      .byMultipleIds(Task.class)
+      .multiLoad(hits.stream().map(TaskSearchHit::getId).toList());
+    List<TaskResponse> items = tasks.stream()
+      .filter(Objects::nonNull) // deleted between the two queries
+      .map(taskMapper::toResponse)
+      .toList();
+    TaskSearchHit last = hasMore ? hits.get(hits.size() - 1) : null;
+    String nextCursor = last == null ? null : last.getRank() + SEARCH_CURSOR_SEPARATOR + last.getId();
+    return new TaskSearchResponse(items, nextCursor, hasMore);
+  }
+
+  /**
+   * portable fallback ordered by id desc, the cursor is the id of the last task
+   */
+  private TaskSearchResponse likeSearch(Integer ownerId, List<String> words, String after, int limit) {
+    Long afterId = null;
+    if (after != null) {
+      try {
+        afterId = Long.parseLong(after);
+      } catch (NumberFormatException e) {
+        throw new ValidationException(String.format("Invalid search cursor: %s", after));
+      }
+    }
+    Specification<Task> spec = Specification.allOf(ownedBy(ownerId), idBefore(afterId), containsWords(words));
+    List<Task> tasks = taskRepository.findBy(spec, query -> query
+      .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+      .limit(limit + 1)
+      .all());
+
+    boolean hasMore = tasks.size() > limit;
+    if (hasMore) {
+      tasks = tasks.subList(0, limit);
+    }
+    String nextCursor = hasMore ? String.valueOf(tasks.get(tasks.size() - 1).getId()) : null;
+    return new TaskSearchResponse(taskMapper.toTasksResponse(tasks), nextCursor, hasMore);
+  }
+
+  /**
+   * splits the query into distinct lower-cased words made of letters and digits only
+   */
+  private List<String> searchWords(String query) {
+    List<String> words = query == null ? List.of() : SEARCH_WORD_SEPARATOR.splitAsStream(query)
+      .filter(word -> !word.isEmpty())
+      .map(word -> word.toLowerCase(Locale.ROOT))
+      .distinct()
+      .toList();
+    if (words.isEmpty() || words.size() > MAX_SEARCH_WORDS) {
+      throw new ValidationException(String.format("Search query must contain between 1 and %d words", MAX_SEARCH_WORDS));
+    }
+    return words;
+  }
+
+  /**
+   * error of a conditional update that changed no row: the task is gone or is at another version
+   */
+  private RuntimeException notFoundOrConflict(Long id, Integer ownerId, Long expectedVersion) {
+    if (expectedVersion != null) {
+      Optional<Long> currentVersion = findOwnedTask(id, ownerId).map(Task::getVersion);
+      if (currentVersion.isPresent()) {
+        return new ConflictException(versionConflictMessage(id, expectedVersion, currentVersion.get()));
+      }
+    }
+    return new ResourceNotFoundException(String.format("Task not found with id: %s", id));
+  }
+
+  private static String versionConflictMessage(Long id, Long expectedVersion, Long currentVersion) {
+    return String.format("Task %s was modified concurrently: expected version %s but found %s", id, expectedVersion, currentVersion);
+  }
+
+  /**
+   * loads the task through the second-level cache, tasks of other users are treated as missing
+   */
+  private Optional<Task> findOwnedTask(Long id, Integer ownerId) {
+    return taskRepository.findById(id).filter(task -> ownerId.equals(task.getOwnerId()));
+  }
+
+  /**
+   * pushes the changes to the change feed of the owner once the transaction commits, right away when there is none,
+   * so subscribers never see a change that is rolled back
+   */
+  private void publishAfterCommit(Integer ownerId, List<TaskChangeEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          taskChangeFeed.publish(ownerId, events);
+        }
+      });
+    } else {
+      taskChangeFeed.publish(ownerId, events);
+    }
+  }
+
+  /**
+   * the worker id stored in claimed_by, the authenticated username when the worker does not name itself
+   */
+  private String getAndValidateWorker(String worker) {
+    if (worker == null) {
+      return CurrentUser.getUsername();
+    }
+    if (worker.isBlank() || worker.length() > MAX_WORKER_LENGTH) {
+      throw new ValidationException(String.format("Worker must be 1 to %d characters", MAX_WORKER_LENGTH));
+    }
+    return worker;
+  }
+
+  private void validateLimit(int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new ValidationException(String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+    }
+  }
+
+  private void validateBulkSize(List<?> items) {
+    if (items == null || items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+      throw new ValidationException(String.format("Bulk requests must contain between 1 and %d items", MAX_BULK_SIZE));
+    }
+  }
+
+  /**
+   * runs bean validation on one bulk item
+   * @return the joined violation messages, or null when the item is valid
+   */
+  private String validateItem(Object item) {
+    if (item == null) {
+      return "Item must not be null";
+    }
+    Set<ConstraintViolation<Object>> violations = validator.validate(item);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+      .sorted()
+      .collect(Collectors.joining("; "));
+  }
+
+  private void applyUpdate(Task task, TaskBulkUpdateRequest update) {
+    if (update.getTitle() != null) {
+      task.setTitle(update.getTitle());
+    }
+    if (update.getDescription() != null) {
+      task.setDescription(update.getDescription());
+    }
+    if (update.getStatus() != null) {
+      task.setStatus(update.getStatus());
+    }
+    if (update.getPriority() != null) {
+      task.setPriority(update.getPriority());
+    }
+  }
+
+  private void writeNdjson(Iterator<Task> tasks, OutputStream outputStream) throws IOException {
+    try (SequenceWriter sequenceWriter = exportWriter.writeValues(outputStream)) {
+      int count = 0;
+      while (tasks.hasNext()) {
+        sequenceWriter.write(toDetachedResponse(tasks.next()));
+        if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+          sequenceWriter.flush();
+        }
+      }
+    }
+    outputStream.write('\n');
+    outputStream.flush();
+  }
+
+  private void writeCsv(Iterator<Task> tasks, OutputStream outputStream) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+    int count = 0;
+    while (tasks.hasNext()) {
+      TaskResponse task = toDetachedResponse(tasks.next());
+      writer.write(String.valueOf(task.getId()));
+      writer.write(',');
+      writer.write(csvValue(task.getTitle()));
+      writer.write(',');
+      writer.write(csvValue(task.getDescription()));
+      writer.write(',');
+      writer.write(csvValue(task.getStatus()));
+      writer.write(',');
+      writer.write(csvValue(task.getPriority()));
+      writer.write(',');
+      writer.write(csvValue(task.getCreatedAt()));
+      writer.write(',');
+      writer.write(csvValue(task.getUpdatedAt()));
+      writer.write('\n');
+      if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+        writer.flush();
+      }
+    }
+    writer.flush();
+  }
+
+  /**
+   * maps the task then evicts it from the persistence context so memory stays flat while streaming
+   */
+  private TaskResponse toDetachedResponse(Task task) {
+    TaskResponse response = taskMapper.toResponse(task);
+    entityManager.detach(task);
+    return response;
+  }
+
+  private static String csvValue(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value.toString();
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
   }
 
   private Task.TaskStatus getAndValidateStatus(String status) {
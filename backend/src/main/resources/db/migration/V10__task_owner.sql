@@ -0,0 +1,119 @@
+-- Tasks belong to the user who created them, every task query is scoped by owner_id.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS owner_id INTEGER;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS fk_tasks_owner;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_owner FOREIGN KEY (owner_id) REFERENCES users (id);
+
+-- no concurrent writes between the backfills below and the new triggers
+LOCK TABLE tasks IN SHARE ROW EXCLUSIVE MODE;
+
+-- tasks created before ownership have no known creator: they keep a NULL owner and no user sees them
+-- until an operator assigns them (UPDATE tasks SET owner_id = ... WHERE owner_id IS NULL).
+
+-- owner first, so a listing reads the index range of one user instead of the whole table
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_id ON tasks (owner_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_status_id ON tasks (owner_id, status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_updated_at_id ON tasks (owner_id, updated_at, id);
+
+-- superseded by the owner scoped indexes, no query reads the whole table any more
+DROP INDEX IF EXISTS idx_tasks_status_id;
+DROP INDEX IF EXISTS idx_tasks_priority_id;
+DROP INDEX IF EXISTS idx_tasks_status_priority_id;
+DROP INDEX IF EXISTS idx_tasks_updated_at_id;
+
+-- Tombstones (V7__task_delta_sync.sql) remember the owner, a delta sync only returns the deletions of its user
+ALTER TABLE task_tombstones ADD COLUMN IF NOT EXISTS owner_id INTEGER;
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_owner_deleted_at ON task_tombstones (owner_id, deleted_at);
+
+CREATE OR REPLACE FUNCTION tasks_record_tombstones() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  INSERT INTO task_tombstones (task_id, owner_id, deleted_at)
+  SELECT id, owner_id, localtimestamp FROM old_rows
+  ON CONFLICT (task_id) DO UPDATE SET owner_id = EXCLUDED.owner_id, deleted_at = EXCLUDED.deleted_at;
+  RETURN NULL;
+END;
+$$;
+
+-- Counters (V6__task_counts.sql) are kept per owner, tasks without owner are not counted
+DROP TABLE IF EXISTS task_counts;
+DROP TABLE IF EXISTS task_daily_counts;
+
+CREATE TABLE task_counts
+(
+  owner_id   INTEGER     NOT NULL,
+  status     VARCHAR(50) NOT NULL,
+  priority   VARCHAR(50) NOT NULL,
+  task_count BIGINT      NOT NULL DEFAULT 0,
+  CONSTRAINT pk_task_counts PRIMARY KEY (owner_id, status, priority)
+);
+
+CREATE TABLE task_daily_counts
+(
+  owner_id        INTEGER NOT NULL,
+  day             DATE    NOT NULL,
+  created_count   BIGINT  NOT NULL DEFAULT 0,
+  completed_count BIGINT  NOT NULL DEFAULT 0,
+  CONSTRAINT pk_task_daily_counts PRIMARY KEY (owner_id, day)
+);
+
+CREATE OR REPLACE FUNCTION tasks_maintain_counts() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO task_counts (owner_id, status, priority, task_count)
+    SELECT owner_id, status, priority, count(*) FROM new_rows WHERE owner_id IS NOT NULL GROUP BY owner_id, status, priority
+    ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (owner_id, day, created_count, completed_count)
+    SELECT owner_id, created_at::date, count(*), count(*) FILTER (WHERE status = 'COMPLETED')
+    FROM new_rows WHERE owner_id IS NOT NULL GROUP BY owner_id, created_at::date
+    ON CONFLICT (owner_id, day) DO UPDATE SET created_count   = task_daily_counts.created_count + EXCLUDED.created_count,
+                                              completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'UPDATE' THEN
+    -- net change only, edits that keep status and priority do not touch the counters
+    INSERT INTO task_counts (owner_id, status, priority, task_count)
+    SELECT owner_id, status, priority, sum(delta)
+    FROM (SELECT owner_id, status, priority, 1 AS delta FROM new_rows
+          UNION ALL
+          SELECT owner_id, status, priority, -1 AS delta FROM old_rows) changes
+    WHERE owner_id IS NOT NULL
+    GROUP BY owner_id, status, priority
+    HAVING sum(delta) <> 0
+    ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (owner_id, day, completed_count)
+    SELECT n.owner_id, n.updated_at::date, count(*)
+    FROM new_rows n
+           JOIN old_rows o ON o.id = n.id
+    WHERE n.status = 'COMPLETED'
+      AND o.status <> 'COMPLETED'
+      AND n.owner_id IS NOT NULL
+    GROUP BY n.owner_id, n.updated_at::date
+    ON CONFLICT (owner_id, day) DO UPDATE SET completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'DELETE' THEN
+    UPDATE task_counts c
+    SET task_count = c.task_count - d.removed
+    FROM (SELECT owner_id, status, priority, count(*) AS removed FROM old_rows GROUP BY owner_id, status, priority) d
+    WHERE c.owner_id = d.owner_id
+      AND c.status = d.status
+      AND c.priority = d.priority;
+  END IF;
+  RETURN NULL;
+END;
+$$;
+
+-- backfill from the existing tasks, completion days are approximated by the last update
+INSERT INTO task_counts (owner_id, status, priority, task_count)
+SELECT owner_id, status, priority, count(*) FROM tasks WHERE owner_id IS NOT NULL GROUP BY owner_id, status, priority;
+
+INSERT INTO task_daily_counts (owner_id, day, created_count, completed_count)
+SELECT owner_id, day, sum(created), sum(completed)
+FROM (SELECT owner_id, created_at::date AS day, 1 AS created, 0 AS completed FROM tasks
+      UNION ALL
+      SELECT owner_id, updated_at::date, 0, 1 FROM tasks WHERE status = 'COMPLETED') events
+WHERE owner_id IS NOT NULL
+GROUP BY owner_id, day;
@@ -0,0 +1,6 @@
+-- Work queue claims (POST /api/v1/tasks/claim): the PENDING tasks of an owner in claim order,
+-- highest priority first, then oldest. Partial, so it only holds the queue and shrinks as tasks are claimed.
+-- The priority expression must stay identical to the ORDER BY of TaskRepository.claimPendingTasks.
+CREATE INDEX IF NOT EXISTS idx_tasks_pending_claim ON tasks
+  (owner_id, (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), created_at, id)
+  WHERE status = 'PENDING';
@@ -0,0 +1,9 @@
+-- Claim leases: the worker holding an IN_PROGRESS task and until when, extended by its heartbeats.
+ALTER TABLE tasks
+  ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255),
+  ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+
+-- Expired leases for the reaper (TaskLeaseReaper). Status changes clear the lease, so the index only
+-- holds the tasks currently claimed by a worker, whatever the size of tasks.
+CREATE INDEX IF NOT EXISTS idx_tasks_lease_expires_at ON tasks (lease_expires_at)
+  WHERE status = 'IN_PROGRESS' AND lease_expires_at IS NOT NULL;
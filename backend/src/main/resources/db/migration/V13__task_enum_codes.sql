@@ -0,0 +1,146 @@
+-- Status and priority stored as SMALLINT codes (TaskStatusConverter, TaskPriorityConverter) instead of VARCHAR names:
+-- smaller rows and indexes, and priority codes sort by urgency (LOW 0, MEDIUM 1, HIGH 2) instead of alphabetically.
+-- Converted online: new columns are backfilled in short batches while writes continue, indexes are built
+-- CONCURRENTLY, and only the final swap takes a brief exclusive lock.
+
+ALTER TABLE tasks
+  ADD COLUMN IF NOT EXISTS status_code SMALLINT,
+  ADD COLUMN IF NOT EXISTS priority_code SMALLINT;
+
+-- rows written during the conversion get their codes from the old columns
+CREATE OR REPLACE FUNCTION tasks_sync_enum_codes() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  NEW.status_code := CASE NEW.status WHEN 'PENDING' THEN 0 WHEN 'IN_PROGRESS' THEN 1 WHEN 'COMPLETED' THEN 2 END;
+  NEW.priority_code := CASE NEW.priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 END;
+  RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS tasks_sync_enum_codes ON tasks;
+CREATE TRIGGER tasks_sync_enum_codes
+  BEFORE INSERT OR UPDATE ON tasks
+  FOR EACH ROW EXECUTE FUNCTION tasks_sync_enum_codes();
+
+-- backfill by primary key ranges, one short transaction per batch; rows inserted later are covered by the trigger
+DO
+$$
+  DECLARE
+    batch_size CONSTANT BIGINT := 10000;
+    max_id              BIGINT;
+    from_id             BIGINT := 0;
+  BEGIN
+    SELECT coalesce(max(id), 0) INTO max_id FROM tasks;
+    WHILE from_id < max_id
+      LOOP
+        -- the trigger computes the codes
+        UPDATE tasks SET status_code = NULL
+        WHERE id > from_id AND id <= from_id + batch_size AND status_code IS NULL;
+        from_id := from_id + batch_size;
+        COMMIT;
+      END LOOP;
+  END
+$$;
+
+-- NOT NULL proven without holding a lock that blocks writes, SET NOT NULL below then skips its table scan
+ALTER TABLE tasks ADD CONSTRAINT tasks_status_code_not_null CHECK (status_code IS NOT NULL) NOT VALID;
+ALTER TABLE tasks ADD CONSTRAINT tasks_priority_code_not_null CHECK (priority_code IS NOT NULL) NOT VALID;
+ALTER TABLE tasks VALIDATE CONSTRAINT tasks_status_code_not_null;
+ALTER TABLE tasks VALIDATE CONSTRAINT tasks_priority_code_not_null;
+
+-- the indexes on the new columns, renamed after the swap; priority is filtered and sorted on its code directly
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_status_code_id ON tasks (owner_id, status_code, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_owner_priority_code_id ON tasks (owner_id, priority_code, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_pending_claim_code ON tasks (owner_id, priority_code DESC, created_at, id)
+  WHERE status_code = 0;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_lease_expires_at_code ON tasks (lease_expires_at)
+  WHERE status_code = 1 AND lease_expires_at IS NOT NULL;
+
+BEGIN;
+
+LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+DROP TRIGGER tasks_sync_enum_codes ON tasks;
+DROP FUNCTION tasks_sync_enum_codes();
+
+-- catalog only changes: dropping a column does not rewrite the table, and takes its indexes with it
+-- (idx_tasks_owner_status_id, idx_tasks_pending_claim, idx_tasks_lease_expires_at)
+ALTER TABLE tasks DROP COLUMN status, DROP COLUMN priority;
+ALTER TABLE tasks RENAME COLUMN status_code TO status;
+ALTER TABLE tasks RENAME COLUMN priority_code TO priority;
+ALTER TABLE tasks
+  ALTER COLUMN status SET NOT NULL,
+  ALTER COLUMN priority SET NOT NULL,
+  ALTER COLUMN status SET DEFAULT 0,
+  ALTER COLUMN priority SET DEFAULT 1;
+ALTER TABLE tasks
+  DROP CONSTRAINT tasks_status_code_not_null,
+  DROP CONSTRAINT tasks_priority_code_not_null;
+
+ALTER INDEX idx_tasks_owner_status_code_id RENAME TO idx_tasks_owner_status_id;
+ALTER INDEX idx_tasks_owner_priority_code_id RENAME TO idx_tasks_owner_priority_id;
+ALTER INDEX idx_tasks_pending_claim_code RENAME TO idx_tasks_pending_claim;
+ALTER INDEX idx_tasks_lease_expires_at_code RENAME TO idx_tasks_lease_expires_at;
+
+-- Counters (V10__task_owner.sql) use the same codes, the table holds a few rows per owner
+ALTER TABLE task_counts
+  ALTER COLUMN status TYPE SMALLINT
+    USING CASE status WHEN 'PENDING' THEN 0 WHEN 'IN_PROGRESS' THEN 1 WHEN 'COMPLETED' THEN 2 END,
+  ALTER COLUMN priority TYPE SMALLINT
+    USING CASE priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 END;
+
+-- same function as V10__task_owner.sql, COMPLETED is now the code 2
+CREATE OR REPLACE FUNCTION tasks_maintain_counts() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO task_counts (owner_id, status, priority, task_count)
+    SELECT owner_id, status, priority, count(*) FROM new_rows WHERE owner_id IS NOT NULL GROUP BY owner_id, status, priority
+    ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (owner_id, day, created_count, completed_count)
+    SELECT owner_id, created_at::date, count(*), count(*) FILTER (WHERE status = 2)
+    FROM new_rows WHERE owner_id IS NOT NULL GROUP BY owner_id, created_at::date
+    ON CONFLICT (owner_id, day) DO UPDATE SET created_count   = task_daily_counts.created_count + EXCLUDED.created_count,
+                                              completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'UPDATE' THEN
+    -- net change only, edits that keep status and priority do not touch the counters
+    INSERT INTO task_counts (owner_id, status, priority, task_count)
+    SELECT owner_id, status, priority, sum(delta)
+    FROM (SELECT owner_id, status, priority, 1 AS delta FROM new_rows
+          UNION ALL
+          SELECT owner_id, status, priority, -1 AS delta FROM old_rows) changes
+    WHERE owner_id IS NOT NULL
+    GROUP BY owner_id, status, priority
+    HAVING sum(delta) <> 0
+    ON CONFLICT (owner_id, status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (owner_id, day, completed_count)
+    SELECT n.owner_id, n.updated_at::date, count(*)
+    FROM new_rows n
+           JOIN old_rows o ON o.id = n.id
+    WHERE n.status = 2
+      AND o.status <> 2
+      AND n.owner_id IS NOT NULL
+    GROUP BY n.owner_id, n.updated_at::date
+    ON CONFLICT (owner_id, day) DO UPDATE SET completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'DELETE' THEN
+    UPDATE task_counts c
+    SET task_count = c.task_count - d.removed
+    FROM (SELECT owner_id, status, priority, count(*) AS removed FROM old_rows GROUP BY owner_id, status, priority) d
+    WHERE c.owner_id = d.owner_id
+      AND c.status = d.status
+      AND c.priority = d.priority;
+  END IF;
+  RETURN NULL;
+END;
+$$;
+
+COMMIT;
+
+-- the old columns are reclaimed as rows are rewritten, VACUUM FULL or pg_repack reclaims them at once
+ANALYZE tasks;
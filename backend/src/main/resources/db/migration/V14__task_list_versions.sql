@@ -0,0 +1,51 @@
+-- Version of the task list of each owner, the ETag of GET /api/v1/tasks.
+-- Kept by triggers, so every committed write counts whatever issued it: any node, the lease reaper, psql.
+CREATE TABLE IF NOT EXISTS task_list_versions
+(
+  owner_id  INTEGER NOT NULL,
+  version   BIGINT  NOT NULL DEFAULT 0,
+  -- transaction which bumped the version last, the following rows of the same transaction leave it alone
+  bumped_by BIGINT  NOT NULL,
+  CONSTRAINT pk_task_list_versions PRIMARY KEY (owner_id)
+);
+
+CREATE OR REPLACE FUNCTION tasks_bump_list_version() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+DECLARE
+  owners INTEGER[];
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    owners := ARRAY[NEW.owner_id];
+  ELSIF TG_OP = 'DELETE' THEN
+    owners := ARRAY[OLD.owner_id];
+  ELSE
+    owners := ARRAY[NEW.owner_id, OLD.owner_id];
+  END IF;
+  INSERT INTO task_list_versions (owner_id, version, bumped_by)
+  SELECT DISTINCT owner_id, 1, txid_current() FROM unnest(owners) AS owner_id WHERE owner_id IS NOT NULL
+  ORDER BY owner_id
+  ON CONFLICT (owner_id) DO UPDATE SET version = task_list_versions.version + 1, bumped_by = EXCLUDED.bumped_by
+  WHERE task_list_versions.bumped_by <> EXCLUDED.bumped_by;
+  RETURN NULL;
+END;
+$$;
+
+-- Deferred to the commit: the version row of the owner is locked only while committing, after every other lock
+-- of the transaction is taken, so writers of the same owner neither queue behind it nor deadlock on it.
+DROP TRIGGER IF EXISTS tasks_list_versions_insert_delete ON tasks;
+DROP TRIGGER IF EXISTS tasks_list_versions_update ON tasks;
+
+CREATE CONSTRAINT TRIGGER tasks_list_versions_insert_delete
+  AFTER INSERT OR DELETE ON tasks
+  DEFERRABLE INITIALLY DEFERRED
+  FOR EACH ROW EXECUTE FUNCTION tasks_bump_list_version();
+
+-- only the columns of the representation, lease heartbeats do not change the list clients see
+CREATE CONSTRAINT TRIGGER tasks_list_versions_update
+  AFTER UPDATE ON tasks
+  DEFERRABLE INITIALLY DEFERRED
+  FOR EACH ROW
+  WHEN ((OLD.title, OLD.description, OLD.status, OLD.priority, OLD.created_at, OLD.updated_at, OLD.version, OLD.owner_id)
+    IS DISTINCT FROM (NEW.title, NEW.description, NEW.status, NEW.priority, NEW.created_at, NEW.updated_at, NEW.version, NEW.owner_id))
+  EXECUTE FUNCTION tasks_bump_list_version();
@@ -0,0 +1,4 @@
+-- Composite indexes backing the keyset listing (WHERE [status/priority] AND id < :after ORDER BY id DESC)
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_id ON tasks (priority, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_priority_id ON tasks (status, priority, id DESC);
@@ -0,0 +1,23 @@
+-- Task ids are now allocated by Hibernate's pooled optimizer (allocationSize = 50),
+-- which requires the backing sequence to advance by the same step.
+-- The identity's own sequence is internal to the column and hidden from information_schema.sequences,
+-- where schema validation looks for tasks_id_seq, so the column gets a standalone sequence instead.
+DO
+$$
+  DECLARE
+    identity_sequence TEXT := pg_get_serial_sequence('tasks', 'id');
+    last_id           BIGINT;
+  BEGIN
+    SELECT coalesce(max(id), 0) INTO last_id FROM tasks;
+    IF identity_sequence IS NOT NULL THEN
+      -- ids already handed out by the identity, used or not
+      EXECUTE format('SELECT greatest(%s, last_value) FROM %s', last_id, identity_sequence) INTO last_id;
+    END IF;
+    ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    -- the pooled optimizer uses the ids up to each value it reads, the first block has to start past last_id
+    EXECUTE format('CREATE SEQUENCE tasks_id_seq INCREMENT BY 50 START WITH %s', last_id + 50);
+  END
+$$;
+
+ALTER SEQUENCE tasks_id_seq OWNED BY tasks.id;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_id_seq');
@@ -0,0 +1,10 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- The 'simple' configuration lower-cases without stemming, so prefix queries ("deplo:*") match what users type.
+ALTER TABLE tasks
+  ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+      setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+      setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
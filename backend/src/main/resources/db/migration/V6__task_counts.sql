@@ -0,0 +1,95 @@
+-- Task counters maintained by statement-level triggers, so GET /api/v1/tasks/stats never scans tasks.
+-- Transition tables aggregate a whole statement (batched insert, bulk status change, bulk delete) into one upsert.
+
+-- Current number of tasks per status and priority
+CREATE TABLE IF NOT EXISTS task_counts
+(
+  status     VARCHAR(50) NOT NULL,
+  priority   VARCHAR(50) NOT NULL,
+  task_count BIGINT      NOT NULL DEFAULT 0,
+  CONSTRAINT pk_task_counts PRIMARY KEY (status, priority)
+);
+
+-- Tasks created and completed per day, deleting a task does not rewrite history
+CREATE TABLE IF NOT EXISTS task_daily_counts
+(
+  day             DATE   NOT NULL,
+  created_count   BIGINT NOT NULL DEFAULT 0,
+  completed_count BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT pk_task_daily_counts PRIMARY KEY (day)
+);
+
+CREATE OR REPLACE FUNCTION tasks_maintain_counts() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO task_counts (status, priority, task_count)
+    SELECT status, priority, count(*) FROM new_rows GROUP BY status, priority
+    ON CONFLICT (status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (day, created_count, completed_count)
+    SELECT created_at::date, count(*), count(*) FILTER (WHERE status = 'COMPLETED') FROM new_rows GROUP BY created_at::date
+    ON CONFLICT (day) DO UPDATE SET created_count   = task_daily_counts.created_count + EXCLUDED.created_count,
+                                    completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'UPDATE' THEN
+    -- net change only, edits that keep status and priority do not touch the counters
+    INSERT INTO task_counts (status, priority, task_count)
+    SELECT status, priority, sum(delta)
+    FROM (SELECT status, priority, 1 AS delta FROM new_rows
+          UNION ALL
+          SELECT status, priority, -1 AS delta FROM old_rows) changes
+    GROUP BY status, priority
+    HAVING sum(delta) <> 0
+    ON CONFLICT (status, priority) DO UPDATE SET task_count = task_counts.task_count + EXCLUDED.task_count;
+
+    INSERT INTO task_daily_counts (day, completed_count)
+    SELECT n.updated_at::date, count(*)
+    FROM new_rows n
+           JOIN old_rows o ON o.id = n.id
+    WHERE n.status = 'COMPLETED'
+      AND o.status <> 'COMPLETED'
+    GROUP BY n.updated_at::date
+    ON CONFLICT (day) DO UPDATE SET completed_count = task_daily_counts.completed_count + EXCLUDED.completed_count;
+
+  ELSIF TG_OP = 'DELETE' THEN
+    UPDATE task_counts c
+    SET task_count = c.task_count - d.removed
+    FROM (SELECT status, priority, count(*) AS removed FROM old_rows GROUP BY status, priority) d
+    WHERE c.status = d.status
+      AND c.priority = d.priority;
+  END IF;
+  RETURN NULL;
+END;
+$$;
+
+-- no concurrent writes between the backfill and the triggers
+LOCK TABLE tasks IN SHARE ROW EXCLUSIVE MODE;
+
+DROP TRIGGER IF EXISTS tasks_counts_insert ON tasks;
+DROP TRIGGER IF EXISTS tasks_counts_update ON tasks;
+DROP TRIGGER IF EXISTS tasks_counts_delete ON tasks;
+
+CREATE TRIGGER tasks_counts_insert
+  AFTER INSERT ON tasks REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tasks_maintain_counts();
+CREATE TRIGGER tasks_counts_update
+  AFTER UPDATE ON tasks REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tasks_maintain_counts();
+CREATE TRIGGER tasks_counts_delete
+  AFTER DELETE ON tasks REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tasks_maintain_counts();
+
+-- backfill from the existing tasks, completion days are approximated by the last update
+TRUNCATE task_counts, task_daily_counts;
+
+INSERT INTO task_counts (status, priority, task_count)
+SELECT status, priority, count(*) FROM tasks GROUP BY status, priority;
+
+INSERT INTO task_daily_counts (day, created_count, completed_count)
+SELECT day, sum(created), sum(completed)
+FROM (SELECT created_at::date AS day, 1 AS created, 0 AS completed FROM tasks
+      UNION ALL
+      SELECT updated_at::date, 0, 1 FROM tasks WHERE status = 'COMPLETED') events
+GROUP BY day;
@@ -0,0 +1,29 @@
+-- Delta sync (GET /api/v1/tasks?since=): tasks changed after a point in time, and ids deleted after it.
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+-- One row per deleted task, kept for tasks.sync.tombstone-retention then purged by TaskTombstoneCleaner
+CREATE TABLE IF NOT EXISTS task_tombstones
+(
+  task_id    BIGINT                      NOT NULL,
+  deleted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_task_tombstones PRIMARY KEY (task_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
+
+CREATE OR REPLACE FUNCTION tasks_record_tombstones() RETURNS trigger
+  LANGUAGE plpgsql AS
+$$
+BEGIN
+  INSERT INTO task_tombstones (task_id, deleted_at)
+  SELECT id, localtimestamp FROM old_rows
+  ON CONFLICT (task_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+  RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS tasks_tombstones_delete ON tasks;
+
+CREATE TRIGGER tasks_tombstones_delete
+  AFTER DELETE ON tasks REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tasks_record_tombstones();
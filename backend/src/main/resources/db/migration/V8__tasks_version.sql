@@ -0,0 +1,3 @@
+-- Optimistic locking: every write bumps the version, conditional writes (If-Match) compare it.
+ALTER TABLE tasks
+  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Responses of requests sent with an Idempotency-Key, used when tasks.idempotency.store is database
+-- (several backend nodes). A row without status_code is a request still in progress on some node.
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+  idempotency_key VARCHAR(512)                NOT NULL,
+  fingerprint     VARCHAR(64)                 NOT NULL,
+  status_code     INTEGER,
+  response_body   TEXT,
+  created_at      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+-- purged by IdempotencyKeyCleaner once older than tasks.idempotency.ttl
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,139 @@
+package dev.elayachi.taskmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.elayachi.taskmanager.domain.converter.AuthoritiesConverter;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.entity.User;
+import dev.elayachi.taskmanager.domain.repository.UserRepository;
+import dev.elayachi.taskmanager.security.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base of the integration tests: the whole application against a PostgreSQL container migrated by Flyway.
+ * The container is started once and shared by every test class (and their cached Spring context).
+ * Each test works with users of its own, owner scoping keeps their tasks apart.
+ *
+ * @author Abdelmajid EL AYACHI
+ * @version 1.0
+ * @since 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+  // same major version as docker-compose.yml
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  protected MockMvc mockMvc;
+
+  @Autowired
+  protected ObjectMapper objectMapper;
+
+  @Autowired
+  protected UserRepository userRepository;
+
+  @Autowired
+  private JwtService jwtService;
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    POSTGRES.start();
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    // every cached context keeps its own pool open against the shared container (max_connections 100)
+    registry.add("spring.datasource.hikari.maximum-pool-size", () -> 4);
+    registry.add("spring.datasource.hikari.minimum-idle", () -> 1);
+  }
+
+  /**
+   * saves a new user and signs a token for it, without going through the rate limited /auth endpoints
+   * @param name prefix of the username, a random suffix keeps it unique
+   * @return Authorization header value
+   */
+  protected String newUserToken(String name) {
+    return bearerToken(newUser(name));
+  }
+
+  /**
+   * @param name prefix of the username, a random suffix keeps it unique
+   * @return the saved, enabled user
+   */
+  protected User newUser(String name) {
+    return userRepository.save(User.builder()
+      .username(name + "-" + UUID.randomUUID())
+      .password("not-used-by-token-authentication")
+      .name(name)
+      .enabled(true)
+      .authorities(AuthoritiesConverter.parse("student"))
+      .build());
+  }
+
+  /**
+   * @return Authorization header value of a token signed for the user
+   */
+  protected String bearerToken(User user) {
+    return "Bearer " + jwtService.generateToken(user);
+  }
+
+  /**
+   * creates a task through the API
+   * @return the created task
+   */
+  protected TaskResponse createTask(String token, String title, Task.TaskStatus status, Task.TaskPriority priority)
+    throws Exception {
+    String body = mockMvc.perform(post("/api/v1/tasks")
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new TaskRequest(title, title + " description", status, priority))))
+      .andExpect(status().isCreated())
+      .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(body, TaskResponse.class);
+  }
+
+  /**
+   * submits the tasks, releases them at once and waits for their results
+   */
+  protected static <T> List<T> runTogether(List<Callable<T>> tasks, CountDownLatch start) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (Callable<T> task : tasks) {
+        futures.add(executor.submit(task));
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
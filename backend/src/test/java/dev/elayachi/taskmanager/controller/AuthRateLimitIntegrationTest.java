@@ -0,0 +1,77 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.request.AuthRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 429 Too Many Requests with Retry-After from the authentication rate limits (AuthRateLimiter).
+ */
+@TestPropertySource(properties = {
+  "auth.rate-limit.ip.capacity=5",
+  "auth.rate-limit.ip.per-minute=1",
+  "auth.rate-limit.username.capacity=2",
+  "auth.rate-limit.username.per-minute=1"
+})
+class AuthRateLimitIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void usernameBucketRejectsWithRetryAfter() throws Exception {
+    String username = "guessed-" + UUID.randomUUID();
+    assertThat(login(username, "10.0.1.1").getResponse().getStatus()).isNotEqualTo(429);
+    assertThat(login(username, "10.0.1.1").getResponse().getStatus()).isNotEqualTo(429);
+
+    MvcResult rejected = login(username, "10.0.1.1");
+
+    assertThat(rejected.getResponse().getStatus()).isEqualTo(429);
+    // one token per minute: the next one is about a minute away
+    assertThat(Long.parseLong(rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1L, 60L);
+  }
+
+  @Test
+  void usernameBucketIsKeptPerClientIp() throws Exception {
+    String username = "locked-out-" + UUID.randomUUID();
+    for (int i = 0; i < 3; i++) {
+      login(username, "10.0.2.1");
+    }
+    assertThat(login(username, "10.0.2.1").getResponse().getStatus()).isEqualTo(429);
+
+    // the owner of the account, elsewhere, is not locked out by the guesses
+    assertThat(login(username, "10.0.2.2").getResponse().getStatus()).isNotEqualTo(429);
+  }
+
+  @Test
+  void ipBucketRejectsWhateverTheUsername() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      assertThat(login("user-" + UUID.randomUUID(), "10.0.3.1").getResponse().getStatus()).isNotEqualTo(429);
+    }
+
+    MvcResult rejected = login("user-" + UUID.randomUUID(), "10.0.3.1");
+
+    assertThat(rejected.getResponse().getStatus()).isEqualTo(429);
+    assertThat(rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+  }
+
+  /**
+   * attempts a login with a wrong password, the rate limit is checked before the password
+   */
+  private MvcResult login(String username, String clientIp) throws Exception {
+    return mockMvc.perform(post("/auth/login")
+        .with(request -> {
+          request.setRemoteAddr(clientIp);
+          return request;
+        })
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new AuthRequest(username, "wrong-password"))))
+      .andReturn();
+  }
+}
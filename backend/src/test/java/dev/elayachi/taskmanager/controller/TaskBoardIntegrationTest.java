@@ -0,0 +1,60 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/v1/tasks/board, the newest tasks of every status with the totals kept by the counters.
+ */
+class TaskBoardIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void columnsHoldTheNewestTasksOfEachStatus() throws Exception {
+    String token = newUserToken("board");
+    TaskResponse oldestPending = createTask(token, "pending 1", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    TaskResponse middlePending = createTask(token, "pending 2", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    TaskResponse inProgress = createTask(token, "in progress", Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.MEDIUM);
+    TaskResponse newestPending = createTask(token, "pending 3", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    mockMvc.perform(get("/api/v1/tasks/board").header(HttpHeaders.AUTHORIZATION, token).param("perColumn", "2"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.columns[*].status", contains("PENDING", "IN_PROGRESS", "COMPLETED")))
+      .andExpect(jsonPath("$.columns[0].statusDisplayName").value("Pending"))
+      .andExpect(jsonPath("$.columns[0].items[*].id",
+        contains(newestPending.getId().intValue(), middlePending.getId().intValue())))
+      .andExpect(jsonPath("$.columns[0].total").value(3))
+      .andExpect(jsonPath("$.columns[0].hasMore").value(true))
+      .andExpect(jsonPath("$.columns[0].nextCursor").value(middlePending.getId()))
+      .andExpect(jsonPath("$.columns[1].items[*].id", contains(inProgress.getId().intValue())))
+      .andExpect(jsonPath("$.columns[1].total").value(1))
+      .andExpect(jsonPath("$.columns[1].hasMore").value(false))
+      .andExpect(jsonPath("$.columns[1].nextCursor").doesNotExist())
+      .andExpect(jsonPath("$.columns[2].items").isEmpty())
+      .andExpect(jsonPath("$.columns[2].total").value(0));
+
+    // the column continues through the page endpoint
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token)
+        .param("status", "PENDING").param("after", String.valueOf(middlePending.getId())))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items[*].id", contains(oldestPending.getId().intValue())))
+      .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  void perColumnOutOfRangeIsRejected() throws Exception {
+    String token = newUserToken("board-limit");
+
+    mockMvc.perform(get("/api/v1/tasks/board").header(HttpHeaders.AUTHORIZATION, token).param("perColumn", "0"))
+      .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/tasks/board").header(HttpHeaders.AUTHORIZATION, token).param("perColumn", "101"))
+      .andExpect(status().isBadRequest());
+  }
+}
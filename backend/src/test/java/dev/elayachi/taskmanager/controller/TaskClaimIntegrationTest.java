@@ -0,0 +1,104 @@
+package dev.elayachi.taskmanager.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.BulkItemResult;
+import dev.elayachi.taskmanager.domain.dto.response.BulkResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/v1/tasks/claim under contention, FOR UPDATE SKIP LOCKED hands every pending task to exactly one worker.
+ */
+class TaskClaimIntegrationTest extends PostgresIntegrationTest {
+
+  private static final int TASKS = 300;
+  private static final int WORKERS = 16;
+  private static final int LIMIT = 3;
+
+  @Test
+  void concurrentClaimsNeverReturnTheSameTask() throws Exception {
+    String token = newUserToken("claim");
+    Set<Long> created = createPendingTasks(token, TASKS);
+    String otherToken = newUserToken("claim-other");
+    TaskResponse othersTask = createTask(otherToken, "not mine", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+
+    // task id -> number of times it was claimed
+    Map<Long, AtomicInteger> claims = new ConcurrentHashMap<>();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Integer>> workers = new ArrayList<>();
+    for (int i = 0; i < WORKERS; i++) {
+      String worker = "worker-" + i;
+      workers.add(() -> {
+        start.await();
+        int claimed = 0;
+        while (true) {
+          String body = mockMvc.perform(post("/api/v1/tasks/claim")
+              .header(HttpHeaders.AUTHORIZATION, token)
+              .param("limit", String.valueOf(LIMIT))
+              .param("worker", worker))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+          List<TaskResponse> tasks = objectMapper.readValue(body, new TypeReference<>() {
+          });
+          if (tasks.isEmpty()) {
+            return claimed;
+          }
+          for (TaskResponse task : tasks) {
+            assertThat(task.getStatus()).isEqualTo(Task.TaskStatus.IN_PROGRESS);
+            claims.computeIfAbsent(task.getId(), id -> new AtomicInteger()).incrementAndGet();
+          }
+          claimed += tasks.size();
+        }
+      });
+    }
+    List<Integer> claimedPerWorker = runTogether(workers, start);
+
+    assertThat(claims.entrySet()).filteredOn(entry -> entry.getValue().get() > 1).isEmpty();
+    assertThat(claims.keySet()).isEqualTo(created);
+    assertThat(claimedPerWorker.stream().mapToInt(Integer::intValue).sum()).isEqualTo(TASKS);
+    mockMvc.perform(get("/api/v1/tasks/{id}", othersTask.getId()).header(HttpHeaders.AUTHORIZATION, otherToken))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.status").value("PENDING"));
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token).param("status", "PENDING"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items").isEmpty());
+  }
+
+  private Set<Long> createPendingTasks(String token, int count) throws Exception {
+    List<TaskRequest> requests = IntStream.range(0, count)
+      .mapToObj(i -> new TaskRequest("queued " + i, "", Task.TaskStatus.PENDING, Task.TaskPriority.values()[i % 3]))
+      .toList();
+    String body = mockMvc.perform(post("/api/v1/tasks/bulk")
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(requests)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.failed").value(0))
+      .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(body, BulkResponse.class).getResults().stream()
+      .map(BulkItemResult::getId)
+      .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,139 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskBulkUpdateRequest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Optimistic locking of the task updates under concurrent writers: conditional updates with If-Match
+ * and the retries of the bulk update.
+ */
+class TaskConflictIntegrationTest extends PostgresIntegrationTest {
+
+  private static final int WRITERS = 8;
+
+  @MockitoSpyBean
+  private TaskRepository taskRepository;
+
+  @Test
+  void onlyOneOfTheUpdatesIfMatchingTheSameVersionSucceeds() throws Exception {
+    String token = newUserToken("conflict");
+    TaskResponse task = createTask(token, "hot", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    String eTag = "\"" + task.getVersion() + "\"";
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Integer>> writers = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      String title = "writer " + i;
+      writers.add(() -> {
+        start.await();
+        return mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+            .header(HttpHeaders.AUTHORIZATION, token)
+            .header(HttpHeaders.IF_MATCH, eTag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new TaskRequest(title, "", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH))))
+          .andReturn().getResponse().getStatus();
+      });
+    }
+    List<Integer> statuses = runTogether(writers, start);
+
+    assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+    assertThat(statuses).filteredOn(status -> status == 409).hasSize(WRITERS - 1);
+    mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.version").value(task.getVersion() + 1));
+  }
+
+  @Test
+  void readModifyWriteCyclesRetriedOnConflictLoseNoUpdate() throws Exception {
+    String token = newUserToken("conflict-counter");
+    TaskResponse task = createTask(token, "counter", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new TaskRequest("counter", "0", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH))))
+      .andExpect(status().isOk());
+
+    int increments = 5;
+    AtomicInteger conflicts = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Integer>> writers = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      writers.add(() -> {
+        start.await();
+        int done = 0;
+        while (done < increments) {
+          MvcResult current = mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, token))
+            .andReturn();
+          TaskResponse read = objectMapper.readValue(current.getResponse().getContentAsString(), TaskResponse.class);
+          String counter = String.valueOf(Long.parseLong(read.getDescription()) + 1);
+          int status = mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+              .header(HttpHeaders.AUTHORIZATION, token)
+              .header(HttpHeaders.IF_MATCH, current.getResponse().getHeader(HttpHeaders.ETAG))
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(new TaskRequest("counter", counter, Task.TaskStatus.PENDING, Task.TaskPriority.HIGH))))
+            .andReturn().getResponse().getStatus();
+          if (status == 200) {
+            done++;
+          } else {
+            assertThat(status).isEqualTo(409);
+            conflicts.incrementAndGet();
+          }
+        }
+        return done;
+      });
+    }
+    runTogether(writers, start);
+
+    mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.description").value(String.valueOf(WRITERS * increments)));
+    assertThat(conflicts.get()).isPositive();
+  }
+
+  @Test
+  void bulkUpdateGivesUpAfterThreeConflictingAttempts() throws Exception {
+    String token = newUserToken("conflict-bulk");
+    TaskResponse task = createTask(token, "bulk", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    // every attempt loses against a concurrent writer
+    doThrow(new ObjectOptimisticLockingFailureException(Task.class, task.getId())).when(taskRepository).flush();
+    clearInvocations(taskRepository);
+
+    TaskBulkUpdateRequest update = new TaskBulkUpdateRequest(task.getId(), "renamed", null, null, null, null);
+    mockMvc.perform(patch("/api/v1/tasks/bulk")
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(List.of(update))))
+      .andExpect(status().isConflict());
+
+    verify(taskRepository, times(3)).flush();
+    mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(jsonPath("$.title").value("bulk"));
+  }
+}
@@ -0,0 +1,65 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/v1/tasks?since=, changed tasks and the tombstones recorded by the V7/V10 triggers.
+ */
+class TaskDeltaSyncIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void deltaReturnsChangedTasksAndDeletedIdsOfTheOwner() throws Exception {
+    String token = newUserToken("delta");
+    String otherToken = newUserToken("delta-other");
+    LocalDateTime since = LocalDateTime.now().minusMinutes(1).withNano(0);
+    TaskResponse kept = createTask(token, "kept", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    TaskResponse deleted = createTask(token, "deleted", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    TaskResponse otherDeleted = createTask(otherToken, "not mine", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    mockMvc.perform(patch("/api/v1/tasks/{id}/status", kept.getId())
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .param("status", "COMPLETED"))
+      .andExpect(status().isOk());
+    mockMvc.perform(delete("/api/v1/tasks/{id}", deleted.getId()).header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().is2xxSuccessful());
+    mockMvc.perform(delete("/api/v1/tasks/{id}", otherDeleted.getId()).header(HttpHeaders.AUTHORIZATION, otherToken))
+      .andExpect(status().is2xxSuccessful());
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("since", since.toString()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.resync").value(false))
+      .andExpect(jsonPath("$.nextSince").isNotEmpty())
+      .andExpect(jsonPath("$.changed[*].id", hasItem(kept.getId().intValue())))
+      .andExpect(jsonPath("$.changed[*].id", not(hasItem(deleted.getId().intValue()))))
+      .andExpect(jsonPath("$.changed[?(@.id == " + kept.getId() + ")].status", hasItem("COMPLETED")))
+      .andExpect(jsonPath("$.deleted", hasItem(deleted.getId().intValue())))
+      .andExpect(jsonPath("$.deleted", not(hasItem(otherDeleted.getId().intValue()))));
+  }
+
+  @Test
+  void sinceOlderThanTheTombstoneRetentionAsksForAResync() throws Exception {
+    String token = newUserToken("delta-resync");
+    createTask(token, "any", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token)
+        .param("since", LocalDateTime.now().minusDays(30).withNano(0).toString()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.resync").value(true))
+      .andExpect(jsonPath("$.changed").isEmpty())
+      .andExpect(jsonPath("$.deleted").isEmpty());
+  }
+}
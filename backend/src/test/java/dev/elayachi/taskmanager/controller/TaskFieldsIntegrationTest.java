@@ -0,0 +1,96 @@
+package dev.elayachi.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sparse fieldsets: ?fields= returns only the selected fields, plus the id.
+ */
+class TaskFieldsIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void listReturnsOnlyTheSelectedFields() throws Exception {
+    String token = newUserToken("fields");
+    TaskResponse task = createTask(token, "sparse", Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH);
+
+    String body = mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("fields", "title,status"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString();
+
+    JsonNode item = objectMapper.readTree(body).get(0);
+    assertThat(fieldNames(item)).containsExactlyInAnyOrder("id", "title", "status", "statusDisplayName");
+    assertThat(item.get("id").asLong()).isEqualTo(task.getId());
+    assertThat(item.get("title").asText()).isEqualTo("sparse");
+    assertThat(item.get("status").asText()).isEqualTo("IN_PROGRESS");
+    assertThat(item.get("statusDisplayName").asText()).isEqualTo("In Progress");
+  }
+
+  @Test
+  void pageReturnsOnlyTheSelectedFieldsAndItsCursor() throws Exception {
+    String token = newUserToken("fields-page");
+    TaskResponse older = createTask(token, "older", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    TaskResponse newer = createTask(token, "newer", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    String body = mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token)
+        .param("fields", "priority").param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.hasMore").value(true))
+      .andExpect(jsonPath("$.nextCursor").value(newer.getId()))
+      .andReturn().getResponse().getContentAsString();
+    assertThat(fieldNames(objectMapper.readTree(body).get("items").get(0)))
+      .containsExactlyInAnyOrder("id", "priority", "priorityDisplayName");
+
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token)
+        .param("fields", "priority").param("limit", "1").param("after", String.valueOf(newer.getId())))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items[0].id").value(older.getId()))
+      .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  void unknownFieldIsRejected() throws Exception {
+    String token = newUserToken("fields-unknown");
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("fields", "title,secret"))
+      .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token).param("fields", "ownerId"))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void eachSelectionHasItsOwnETag() throws Exception {
+    String token = newUserToken("fields-etag");
+    createTask(token, "etag", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    MvcResult titles = mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("fields", "title"))
+      .andExpect(status().isOk())
+      .andReturn();
+    String eTag = titles.getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("fields", "title")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+      .andExpect(status().isNotModified());
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).param("fields", "title,description")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+      .andExpect(status().isOk());
+  }
+
+  private static Set<String> fieldNames(JsonNode node) {
+    Set<String> names = new HashSet<>();
+    node.fieldNames().forEachRemaining(names::add);
+    return names;
+  }
+}
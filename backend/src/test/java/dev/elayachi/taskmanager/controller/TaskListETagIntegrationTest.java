@@ -0,0 +1,87 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.configuration.CompactWireFormat;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag of GET /api/v1/tasks, the list version kept by the V14 triggers and the representation.
+ */
+class TaskListETagIntegrationTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void eTagChangesWithWritesThatBypassTheApplication() throws Exception {
+    String token = newUserToken("etag");
+    TaskResponse task = createTask(token, "etag", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    String eTag = listETag(token, null);
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+      .andExpect(status().isNotModified())
+      .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+      .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")));
+
+    // another node, the reaper or psql: nothing the application publishes
+    jdbcTemplate.update("UPDATE tasks SET title = 'renamed elsewhere' WHERE id = ?", task.getId());
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+      .andExpect(status().isOk());
+    assertThat(listETag(token, null)).isNotEqualTo(eTag);
+  }
+
+  @Test
+  void eTagIgnoresTheTasksOfOtherOwners() throws Exception {
+    String token = newUserToken("etag-owner");
+    createTask(token, "mine", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    String eTag = listETag(token, null);
+
+    createTask(newUserToken("etag-other"), "not mine", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    assertThat(listETag(token, null)).isEqualTo(eTag);
+  }
+
+  @Test
+  void eachRepresentationHasItsOwnETag() throws Exception {
+    String token = newUserToken("etag-compact");
+    createTask(token, "compact", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    String jsonETag = listETag(token, null);
+
+    mockMvc.perform(get("/api/v1/tasks")
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .header(HttpHeaders.ACCEPT, CompactWireFormat.COMPACT_JSON.toString())
+        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith(CompactWireFormat.COMPACT_JSON.toString())));
+    assertThat(listETag(token, CompactWireFormat.COMPACT_JSON.toString())).isNotEqualTo(jsonETag);
+  }
+
+  private String listETag(String token, String accept) throws Exception {
+    var request = get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token);
+    if (accept != null) {
+      request.header(HttpHeaders.ACCEPT, accept);
+    }
+    return mockMvc.perform(request)
+      .andExpect(status().isOk())
+      .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+      // kept by the client but revalidated, not the no-store default of Spring Security
+      .andExpect(header().string(HttpHeaders.CACHE_CONTROL, allOf(containsString("no-cache"), not(containsString("no-store")))))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+  }
+}
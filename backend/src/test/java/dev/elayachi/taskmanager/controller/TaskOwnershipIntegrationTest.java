@@ -0,0 +1,103 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskBulkUpdateRequest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every task endpoint only sees the tasks of the authenticated user, the tasks of others are not found.
+ */
+class TaskOwnershipIntegrationTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void tasksOfAnotherUserAreNotFound() throws Exception {
+    String owner = newUserToken("owner");
+    String intruder = newUserToken("intruder");
+    TaskResponse task = createTask(owner, "private", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    String update = objectMapper.writeValueAsString(new TaskRequest("taken", "", Task.TaskStatus.COMPLETED, Task.TaskPriority.LOW));
+
+    mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, intruder))
+      .andExpect(status().isNotFound());
+    mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+        .header(HttpHeaders.AUTHORIZATION, intruder)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(update))
+      .andExpect(status().isNotFound());
+    mockMvc.perform(patch("/api/v1/tasks/{id}/status", task.getId())
+        .header(HttpHeaders.AUTHORIZATION, intruder)
+        .param("status", "COMPLETED"))
+      .andExpect(status().isNotFound());
+    mockMvc.perform(delete("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, intruder))
+      .andExpect(status().isNotFound());
+    mockMvc.perform(patch("/api/v1/tasks/bulk")
+        .header(HttpHeaders.AUTHORIZATION, intruder)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(List.of(new TaskBulkUpdateRequest(task.getId(), "taken", null, null, null, null)))))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.failed").value(1))
+      .andExpect(jsonPath("$.results[0].status").value(404));
+
+    mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, owner))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.title").value("private"))
+      .andExpect(jsonPath("$.status").value("PENDING"));
+  }
+
+  @Test
+  void listingsOnlyReturnTheTasksOfTheUser() throws Exception {
+    String owner = newUserToken("owner-list");
+    String other = newUserToken("other-list");
+    TaskResponse mine = createTask(owner, "mine", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    TaskResponse theirs = createTask(other, "theirs", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    int mineId = mine.getId().intValue();
+    int theirsId = theirs.getId().intValue();
+
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, owner))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$[*].id", hasItem(mineId)))
+      .andExpect(jsonPath("$[*].id", not(hasItem(theirsId))));
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, owner).param("limit", "100"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items[*].id", hasItem(mineId)))
+      .andExpect(jsonPath("$.items[*].id", not(hasItem(theirsId))));
+    mockMvc.perform(get("/api/v1/tasks/board").header(HttpHeaders.AUTHORIZATION, owner))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.columns[*].items[*].id", hasItem(mineId)))
+      .andExpect(jsonPath("$.columns[*].items[*].id", not(hasItem(theirsId))));
+  }
+
+  @Test
+  void legacyTasksWithoutOwnerAreVisibleToNoOne() throws Exception {
+    String token = newUserToken("legacy");
+    Long legacyId = jdbcTemplate.queryForObject("INSERT INTO tasks (title, description, status, priority, created_at, updated_at) "
+      + "VALUES ('legacy', 'created before ownership', ?, ?, localtimestamp, localtimestamp) RETURNING id", Long.class,
+      Task.TaskStatus.PENDING.getCode(), Task.TaskPriority.LOW.getCode());
+
+    mockMvc.perform(get("/api/v1/tasks/{id}", legacyId).header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token).param("limit", "100"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items").isEmpty());
+  }
+}
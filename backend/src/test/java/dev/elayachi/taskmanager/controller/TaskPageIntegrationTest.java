@@ -0,0 +1,92 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskPageResponse;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/v1/tasks/page, keyset pagination on the id: each page continues after the nextCursor of the previous one.
+ */
+class TaskPageIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void pagesWalkEveryTaskOnceNewestFirst() throws Exception {
+    String token = newUserToken("page");
+    List<Long> created = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      created.add(createTask(token, "task " + i, Task.TaskStatus.PENDING, Task.TaskPriority.LOW).getId());
+    }
+
+    TaskPageResponse first = page(get("/api/v1/tasks/page").param("limit", "2"), token);
+    assertThat(first.isHasMore()).isTrue();
+    assertThat(first.getNextCursor()).isEqualTo(first.getItems().get(1).getId());
+
+    // a task created meanwhile is newer than the cursor, it neither shifts nor repeats the next pages
+    createTask(token, "created while paging", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    List<Long> walked = new ArrayList<>(ids(first));
+    TaskPageResponse page = first;
+    while (page.isHasMore()) {
+      page = page(get("/api/v1/tasks/page").param("limit", "2").param("after", String.valueOf(page.getNextCursor())), token);
+      walked.addAll(ids(page));
+    }
+
+    assertThat(walked).isEqualTo(created.stream().sorted(Comparator.reverseOrder()).toList());
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  void filtersApplyToEveryPage() throws Exception {
+    String token = newUserToken("page-filter");
+    List<Long> high = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Task.TaskPriority priority = i % 2 == 0 ? Task.TaskPriority.HIGH : Task.TaskPriority.LOW;
+      Long id = createTask(token, "task " + i, Task.TaskStatus.PENDING, priority).getId();
+      if (priority == Task.TaskPriority.HIGH) {
+        high.add(id);
+      }
+    }
+
+    TaskPageResponse first = page(get("/api/v1/tasks/page").param("limit", "2").param("priority", "HIGH"), token);
+    TaskPageResponse second = page(get("/api/v1/tasks/page").param("limit", "2").param("priority", "HIGH")
+      .param("after", String.valueOf(first.getNextCursor())), token);
+
+    List<Long> walked = new ArrayList<>(ids(first));
+    walked.addAll(ids(second));
+    assertThat(walked).isEqualTo(high.stream().sorted(Comparator.reverseOrder()).toList());
+    assertThat(second.isHasMore()).isFalse();
+  }
+
+  @Test
+  void limitOutOfRangeIsRejected() throws Exception {
+    String token = newUserToken("page-limit");
+
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token).param("limit", "0"))
+      .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/tasks/page").header(HttpHeaders.AUTHORIZATION, token).param("limit", "101"))
+      .andExpect(status().isBadRequest());
+  }
+
+  private TaskPageResponse page(MockHttpServletRequestBuilder request, String token) throws Exception {
+    String body = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString();
+    return objectMapper.readValue(body, TaskPageResponse.class);
+  }
+
+  private static List<Long> ids(TaskPageResponse page) {
+    return page.getItems().stream().map(TaskResponse::getId).toList();
+  }
+}
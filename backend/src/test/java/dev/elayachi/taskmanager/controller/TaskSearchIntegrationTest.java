@@ -0,0 +1,60 @@
+package dev.elayachi.taskmanager.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/v1/tasks/search in the default full-text mode, on the search_vector column of V5__tasks_full_text_search.sql.
+ */
+class TaskSearchIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void matchesEveryWordAsAPrefix() throws Exception {
+    String token = newUserToken("search");
+    createTask(token, "Deploy the api gateway", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    createTask(token, "Write deployment notes", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    createTask(token, "Renew certificates", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    createTask(newUserToken("search-other"), "Deploy another api", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    mockMvc.perform(get("/api/v1/tasks/search").header(HttpHeaders.AUTHORIZATION, token).param("q", "depl"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items[*].title").value(containsInAnyOrder("Deploy the api gateway", "Write deployment notes")))
+      .andExpect(jsonPath("$.hasMore").value(false));
+
+    mockMvc.perform(get("/api/v1/tasks/search").header(HttpHeaders.AUTHORIZATION, token).param("q", "DEPL api"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items.length()").value(1))
+      .andExpect(jsonPath("$.items[0].title").value("Deploy the api gateway"));
+  }
+
+  @Test
+  void pagesWithTheRankCursor() throws Exception {
+    String token = newUserToken("search-pages");
+    createTask(token, "Release one", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    createTask(token, "Release two", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    String firstPage = mockMvc.perform(get("/api/v1/tasks/search").header(HttpHeaders.AUTHORIZATION, token)
+        .param("q", "release").param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items.length()").value(1))
+      .andExpect(jsonPath("$.hasMore").value(true))
+      .andReturn().getResponse().getContentAsString();
+    String cursor = JsonPath.read(firstPage, "$.nextCursor");
+    String firstTitle = JsonPath.read(firstPage, "$.items[0].title");
+
+    mockMvc.perform(get("/api/v1/tasks/search").header(HttpHeaders.AUTHORIZATION, token)
+        .param("q", "release").param("limit", "1").param("after", cursor))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items.length()").value(1))
+      .andExpect(jsonPath("$.items[0].title").value(firstTitle.equals("Release one") ? "Release two" : "Release one"))
+      .andExpect(jsonPath("$.hasMore").value(false));
+  }
+}
@@ -0,0 +1,59 @@
+package dev.elayachi.taskmanager.controller;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/v1/tasks/stats, served from the counters the V6/V10/V13 triggers maintain.
+ */
+class TaskStatsIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void countersFollowInsertsStatusChangesAndDeletes() throws Exception {
+    String token = newUserToken("stats");
+    TaskResponse first = createTask(token, "first", Task.TaskStatus.PENDING, Task.TaskPriority.HIGH);
+    createTask(token, "second", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+    TaskResponse third = createTask(token, "third", Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW);
+
+    mockMvc.perform(patch("/api/v1/tasks/{id}/status", first.getId())
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .param("status", "COMPLETED"))
+      .andExpect(status().isOk());
+    mockMvc.perform(delete("/api/v1/tasks/{id}", third.getId())
+        .header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().is2xxSuccessful());
+
+    mockMvc.perform(get("/api/v1/tasks/stats").header(HttpHeaders.AUTHORIZATION, token).param("days", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.total").value(2))
+      .andExpect(jsonPath("$.byStatus.PENDING").value(1))
+      .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(0))
+      .andExpect(jsonPath("$.byStatus.COMPLETED").value(1))
+      .andExpect(jsonPath("$.byPriority.HIGH").value(1))
+      .andExpect(jsonPath("$.byPriority.LOW").value(1))
+      .andExpect(jsonPath("$.byStatusAndPriority.COMPLETED.HIGH").value(1))
+      .andExpect(jsonPath("$.daily.length()").value(1))
+      .andExpect(jsonPath("$.daily[0].created").value(3))
+      .andExpect(jsonPath("$.daily[0].completed").value(1));
+  }
+
+  @Test
+  void countersAreScopedByOwner() throws Exception {
+    String token = newUserToken("stats-owner");
+    createTask(newUserToken("stats-other"), "not mine", Task.TaskStatus.PENDING, Task.TaskPriority.MEDIUM);
+
+    mockMvc.perform(get("/api/v1/tasks/stats").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.total").value(0))
+      .andExpect(jsonPath("$.byStatus.PENDING").value(0));
+  }
+}
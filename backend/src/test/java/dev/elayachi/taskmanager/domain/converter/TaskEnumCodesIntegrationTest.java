@@ -0,0 +1,50 @@
+package dev.elayachi.taskmanager.domain.converter;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Status and priority stored as SMALLINT codes once Flyway applied V13__task_enum_codes.sql.
+ */
+class TaskEnumCodesIntegrationTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void columnsAreSmallint() {
+    assertThat(jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns "
+      + "WHERE table_name = 'tasks' AND column_name IN ('status', 'priority')", String.class))
+      .containsExactly("smallint", "smallint");
+  }
+
+  @Test
+  void everyStatusAndPriorityRoundTripsThroughTheDatabase() throws Exception {
+    String token = newUserToken("codes");
+    for (Task.TaskStatus taskStatus : Task.TaskStatus.values()) {
+      for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+        TaskResponse task = createTask(token, taskStatus + " " + priority, taskStatus, priority);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, priority FROM tasks WHERE id = ?", task.getId());
+        assertThat(((Number) row.get("status")).shortValue()).isEqualTo(taskStatus.getCode());
+        assertThat(((Number) row.get("priority")).shortValue()).isEqualTo(priority.getCode());
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, token))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.status").value(taskStatus.name()))
+          .andExpect(jsonPath("$.priority").value(priority.name()));
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package dev.elayachi.taskmanager.domain.converter;
+
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SMALLINT codes of the status and priority columns. They are the codes V13__task_enum_codes.sql wrote,
+ * so reordering or inserting an enum constant would silently change the meaning of the stored rows.
+ */
+class TaskEnumConvertersTest {
+
+  private final TaskStatusConverter statusConverter = new TaskStatusConverter();
+  private final TaskPriorityConverter priorityConverter = new TaskPriorityConverter();
+
+  @ParameterizedTest
+  @EnumSource(Task.TaskStatus.class)
+  void statusRoundTripsThroughItsCode(Task.TaskStatus status) {
+    Short code = statusConverter.convertToDatabaseColumn(status);
+
+    assertThat(code).isEqualTo(status.getCode());
+    assertThat(statusConverter.convertToEntityAttribute(code)).isEqualTo(status);
+    assertThat(Task.TaskStatus.fromCode(status.getCode())).isEqualTo(status);
+  }
+
+  @ParameterizedTest
+  @EnumSource(Task.TaskPriority.class)
+  void priorityRoundTripsThroughItsCode(Task.TaskPriority priority) {
+    Short code = priorityConverter.convertToDatabaseColumn(priority);
+
+    assertThat(code).isEqualTo(priority.getCode());
+    assertThat(priorityConverter.convertToEntityAttribute(code)).isEqualTo(priority);
+    assertThat(Task.TaskPriority.fromCode(priority.getCode())).isEqualTo(priority);
+  }
+
+  @Test
+  void codesAreTheOnesOfTheMigration() {
+    assertThat(Task.TaskStatus.PENDING.getCode()).isEqualTo((short) 0);
+    assertThat(Task.TaskStatus.IN_PROGRESS.getCode()).isEqualTo((short) 1);
+    assertThat(Task.TaskStatus.COMPLETED.getCode()).isEqualTo((short) 2);
+    assertThat(Task.TaskPriority.LOW.getCode()).isEqualTo((short) 0);
+    assertThat(Task.TaskPriority.MEDIUM.getCode()).isEqualTo((short) 1);
+    assertThat(Task.TaskPriority.HIGH.getCode()).isEqualTo((short) 2);
+  }
+
+  @Test
+  void nativeQueryConstantsMatchTheCodes() {
+    assertThat(TaskRepository.PENDING).isEqualTo(String.valueOf(Task.TaskStatus.PENDING.getCode()));
+    assertThat(TaskRepository.IN_PROGRESS).isEqualTo(String.valueOf(Task.TaskStatus.IN_PROGRESS.getCode()));
+    assertThat(TaskRepository.COMPLETED).isEqualTo(String.valueOf(Task.TaskStatus.COMPLETED.getCode()));
+  }
+
+  @Test
+  void nullIsStoredAsNull() {
+    assertThat(statusConverter.convertToDatabaseColumn(null)).isNull();
+    assertThat(statusConverter.convertToEntityAttribute(null)).isNull();
+    assertThat(priorityConverter.convertToDatabaseColumn(null)).isNull();
+    assertThat(priorityConverter.convertToEntityAttribute(null)).isNull();
+  }
+
+  @Test
+  void unknownCodesAreRejected() {
+    assertThatThrownBy(() -> statusConverter.convertToEntityAttribute((short) 3)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> priorityConverter.convertToEntityAttribute((short) -1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
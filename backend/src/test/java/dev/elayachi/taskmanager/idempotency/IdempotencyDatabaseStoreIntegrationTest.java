@@ -0,0 +1,48 @@
+package dev.elayachi.taskmanager.idempotency;
+
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import dev.elayachi.taskmanager.domain.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key with the responses shared by every node in the idempotency_keys table.
+ */
+@TestPropertySource(properties = "tasks.idempotency.store=database")
+class IdempotencyDatabaseStoreIntegrationTest extends IdempotencyIntegrationTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void responseIsStoredForTheOtherNodes() throws Exception {
+    String key = UUID.randomUUID().toString();
+    User user = newUser("idempotent-shared");
+    mockMvc.perform(post("/api/v1/tasks")
+        .header(HttpHeaders.AUTHORIZATION, bearerToken(user))
+        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, key)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new TaskRequest("shared", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW))))
+      .andExpect(status().isCreated());
+
+    // stored under the SHA-256 of endpoint, user and key
+    byte[] scopedKey = ("POST /api/v1/tasks:" + user.getUsername() + ":" + key).getBytes(StandardCharsets.UTF_8);
+    String storedKey = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(scopedKey));
+    assertThat(jdbcTemplate.queryForList("SELECT status_code FROM idempotency_keys WHERE idempotency_key = ?",
+      Integer.class, storedKey)).containsExactly(201);
+  }
+}
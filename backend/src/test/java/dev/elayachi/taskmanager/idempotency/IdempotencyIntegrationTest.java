@@ -0,0 +1,136 @@
+package dev.elayachi.taskmanager.idempotency;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.dto.request.TaskRequest;
+import dev.elayachi.taskmanager.domain.dto.response.TaskResponse;
+import dev.elayachi.taskmanager.domain.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key on POST /api/v1/tasks, run against each store by its subclasses.
+ */
+abstract class IdempotencyIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void retryWithTheSameKeyReplaysTheFirstResponse() throws Exception {
+    String token = newUserToken("idempotent");
+    String key = UUID.randomUUID().toString();
+    TaskRequest request = new TaskRequest("once", "created once", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    MockHttpServletResponse first = create(token, key, request);
+    MockHttpServletResponse retry = create(token, key, request);
+
+    assertThat(first.getStatus()).isEqualTo(201);
+    assertThat(first.getHeader(IdempotencyService.REPLAYED_HEADER)).isNull();
+    assertThat(retry.getStatus()).isEqualTo(201);
+    assertThat(retry.getHeader(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    assertThat(id(retry)).isEqualTo(id(first));
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(jsonPath("$.length()").value(1));
+  }
+
+  @Test
+  void keyReusedWithAnotherBodyIsRejected() throws Exception {
+    String token = newUserToken("idempotent-mismatch");
+    String key = UUID.randomUUID().toString();
+    create(token, key, new TaskRequest("first", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW));
+
+    MockHttpServletResponse reused = create(token, key, new TaskRequest("second", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW));
+
+    assertThat(reused.getStatus()).isEqualTo(400);
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(jsonPath("$.length()").value(1))
+      .andExpect(jsonPath("$[0].title").value("first"));
+  }
+
+  @Test
+  void keysBelongToTheirUser() throws Exception {
+    String key = UUID.randomUUID().toString();
+    TaskRequest request = new TaskRequest("same key", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    MockHttpServletResponse mine = create(newUserToken("idempotent-a"), key, request);
+    MockHttpServletResponse theirs = create(newUserToken("idempotent-b"), key, request);
+
+    assertThat(theirs.getHeader(IdempotencyService.REPLAYED_HEADER)).isNull();
+    assertThat(id(theirs)).isNotEqualTo(id(mine));
+  }
+
+  @Test
+  void concurrentDuplicatesCreateOneTask() throws Exception {
+    String token = newUserToken("idempotent-concurrent");
+    String key = UUID.randomUUID().toString();
+    TaskRequest request = new TaskRequest("raced", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<MockHttpServletResponse>> duplicates = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      duplicates.add(() -> {
+        start.await();
+        return create(token, key, request);
+      });
+    }
+    List<MockHttpServletResponse> responses = runTogether(duplicates, start);
+
+    assertThat(responses).allSatisfy(response -> assertThat(response.getStatus()).isEqualTo(201));
+    assertThat(responses.stream().map(this::id).distinct()).hasSize(1);
+    mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(jsonPath("$.length()").value(1));
+  }
+
+  @Test
+  void blankKeyIsRejected() throws Exception {
+    mockMvc.perform(post("/api/v1/tasks")
+        .header(HttpHeaders.AUTHORIZATION, newUserToken("idempotent-blank"))
+        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, " ")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new TaskRequest("blank", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW))))
+      .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void longestKeyOfALongUsernameIsReplayed() throws Exception {
+    String token = newUserToken("idempotent-" + "u".repeat(200));
+    String key = "k".repeat(255);
+    TaskRequest request = new TaskRequest("long key", "", Task.TaskStatus.PENDING, Task.TaskPriority.LOW);
+
+    MockHttpServletResponse first = create(token, key, request);
+    MockHttpServletResponse retry = create(token, key, request);
+
+    assertThat(first.getStatus()).isEqualTo(201);
+    assertThat(retry.getStatus()).isEqualTo(201);
+    assertThat(retry.getHeader(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    assertThat(create(token, key + "k", request).getStatus()).isEqualTo(400);
+  }
+
+  private MockHttpServletResponse create(String token, String key, TaskRequest request) throws Exception {
+    return mockMvc.perform(post("/api/v1/tasks")
+        .header(HttpHeaders.AUTHORIZATION, token)
+        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, key)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(request)))
+      .andReturn().getResponse();
+  }
+
+  private Long id(MockHttpServletResponse response) {
+    try {
+      return objectMapper.readValue(response.getContentAsString(), TaskResponse.class).getId();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
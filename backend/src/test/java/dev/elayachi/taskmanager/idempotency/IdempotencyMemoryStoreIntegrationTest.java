@@ -0,0 +1,10 @@
+package dev.elayachi.taskmanager.idempotency;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Idempotency-Key with the responses kept in memory, a single node.
+ */
+@TestPropertySource(properties = "tasks.idempotency.store=memory")
+class IdempotencyMemoryStoreIntegrationTest extends IdempotencyIntegrationTest {
+}
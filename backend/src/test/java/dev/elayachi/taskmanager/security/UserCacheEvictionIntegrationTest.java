@@ -0,0 +1,33 @@
+package dev.elayachi.taskmanager.security;
+
+import dev.elayachi.taskmanager.PostgresIntegrationTest;
+import dev.elayachi.taskmanager.domain.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In cache mode a user disabled through JPA loses access on its next request, not after jwt.user-cache.ttl.
+ */
+@TestPropertySource(properties = "jwt.user-lookup=cache")
+class UserCacheEvictionIntegrationTest extends PostgresIntegrationTest {
+
+  @Test
+  void disablingAUserEvictsItFromTheCache() throws Exception {
+    User user = newUser("evicted");
+    String token = bearerToken(user);
+    // loads the user into the cache
+    mockMvc.perform(get("/api/v1/tasks/stats").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isOk());
+
+    User stored = userRepository.findByUsername(user.getUsername()).orElseThrow();
+    stored.setEnabled(false);
+    userRepository.save(stored);
+
+    mockMvc.perform(get("/api/v1/tasks/stats").header(HttpHeaders.AUTHORIZATION, token))
+      .andExpect(status().isForbidden());
+  }
+}